@@ -2,9 +2,11 @@ package com.example.northwind;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 @SpringBootApplication
+@EnableScheduling
 // @EnableMethodSecurity
 public class NorthwindApplication {
 	public static void main(String[] args) {
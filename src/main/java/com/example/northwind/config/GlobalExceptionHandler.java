@@ -1,5 +1,7 @@
 package com.example.northwind.config;
 
+import com.example.northwind.exception.BadRequestException;
+import com.example.northwind.exception.OrderImportException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,4 +28,21 @@ public class GlobalExceptionHandler {
 		body.put("message", ex.getMessage());
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
 	}
+
+	@ExceptionHandler(BadRequestException.class)
+	public ResponseEntity<Map<String, Object>> handleBadRequest(BadRequestException ex) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("error", "bad_request");
+		body.put("message", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+	}
+
+	@ExceptionHandler(OrderImportException.class)
+	public ResponseEntity<Map<String, Object>> handleOrderImport(OrderImportException ex) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("error", ex.isBadRequest() ? "bad_request" : "import_failed");
+		body.put("message", ex.getMessage());
+		body.put("report", ex.getReport());
+		return ResponseEntity.status(ex.isBadRequest() ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+	}
 }
@@ -0,0 +1,20 @@
+package com.example.northwind.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Exposes PostgreSQL operators that criteria queries cannot express directly. They are rendered as
+ * operators rather than wrapped in the equivalent functions so the planner can still use GIN indexes.
+ * Registered through META-INF/services.
+ */
+public class PostgresFunctionContributor implements FunctionContributor {
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions) {
+		functionContributions.getFunctionRegistry().registerPattern(
+				"jsonb_contains",
+				"(?1 @> cast(?2 as jsonb))",
+				functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+	}
+}
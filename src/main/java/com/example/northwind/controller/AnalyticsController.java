@@ -0,0 +1,47 @@
+package com.example.northwind.controller;
+
+import com.example.northwind.dto.RevenueSeries;
+import com.example.northwind.dto.SalesRollupRow;
+import com.example.northwind.dto.TopProductDto;
+import com.example.northwind.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+	private final AnalyticsService analyticsService;
+
+	@GetMapping("/sales")
+	public List<SalesRollupRow> sales(@RequestParam(name = "from", required = false) LocalDate from,
+									  @RequestParam(name = "to", required = false) LocalDate to,
+									  @RequestParam(name = "period", required = false) String period,
+									  @RequestParam(name = "by", required = false) String by,
+									  @RequestParam(name = "categoryId", required = false) Integer categoryId,
+									  @RequestParam(name = "employeeId", required = false) Integer employeeId,
+									  @RequestParam(name = "country", required = false) String country) {
+		return analyticsService.sales(from, to, period, by, categoryId, employeeId, country);
+	}
+
+	@GetMapping("/revenue")
+	public RevenueSeries revenue(@RequestParam(name = "from", required = false) LocalDate from,
+								 @RequestParam(name = "to", required = false) LocalDate to,
+								 @RequestParam(name = "bucket", defaultValue = "day") String bucket,
+								 @RequestParam(name = "maxPoints", defaultValue = "1000") int maxPoints) {
+		return analyticsService.revenue(from, to, bucket, maxPoints);
+	}
+
+	@GetMapping("/top-products")
+	public List<TopProductDto> topProducts(@RequestParam(name = "window", defaultValue = "7d") String window,
+										   @RequestParam(name = "by", defaultValue = "revenue") String by,
+										   @RequestParam(name = "limit", defaultValue = "10") int limit) {
+		return analyticsService.topProducts(window, by, limit);
+	}
+}
@@ -1,19 +1,30 @@
 package com.example.northwind.controller;
 
 import com.example.northwind.entity.Customer;
+import com.example.northwind.entity.CustomerMetrics;
+import com.example.northwind.service.CustomerMetricsService;
 import com.example.northwind.service.CustomerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/customers")
 @RequiredArgsConstructor
 public class CustomerController {
 	private final CustomerService service;
+	private final CustomerMetricsService metricsService;
 	@GetMapping public Page<Customer> list(Pageable p){return service.list(p);}    
+	@GetMapping("/metrics") public Page<CustomerMetrics> metrics(@RequestParam(name = "segment", required = false) String segment,
+										@PageableDefault(sort = "lifetimeValue", direction = Sort.Direction.DESC) Pageable p){return service.metrics(segment, p);}    
+	@PostMapping("/metrics/refresh") public Map<String, Object> refreshMetrics(){return metricsService.refresh();}    
+	@GetMapping("/{id}/metrics") public CustomerMetrics metricsFor(@PathVariable String id){return service.metrics(id);}    
 	@GetMapping("/{id}") public Customer get(@PathVariable String id){return service.get(id);}    
 	@PostMapping @ResponseStatus(HttpStatus.CREATED) public Customer create(@RequestBody Customer c){return service.create(c);}    
 	@PutMapping("/{id}") public Customer update(@PathVariable String id,@RequestBody Customer c){return service.update(id,c);}    
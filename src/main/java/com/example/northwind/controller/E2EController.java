@@ -1,8 +1,10 @@
 package com.example.northwind.controller;
 
 import com.example.northwind.entity.Product;
+import com.example.northwind.exception.BadRequestException;
 import com.example.northwind.repository.ProductRepository;
 import com.example.northwind.repository.spec.ProductSpecifications;
+import com.example.northwind.service.ProductCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
@@ -16,9 +18,11 @@ import java.util.Map;
 @RequestMapping("/e2e")
 public class E2EController {
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
 
-    public E2EController(ProductRepository productRepository) {
+    public E2EController(ProductRepository productRepository, ProductCache productCache) {
         this.productRepository = productRepository;
+        this.productCache = productCache;
     }
 
     // Simple search endpoint to validate search flow end-to-end
@@ -49,6 +53,7 @@ public class E2EController {
             @RequestParam(name = "q", required = false) String q,
             @RequestParam(name = "index", defaultValue = "0") int index
     ) {
+        long cacheGeneration = productCache.generation();
         Page<Product> page = productRepository.findAll(
                 ProductSpecifications.nameContains(q),
                 PageRequest.of(0, Math.max(1, index + 1))
@@ -56,7 +61,10 @@ public class E2EController {
         if (index < 0 || index >= page.getNumberOfElements()) {
             throw new jakarta.persistence.EntityNotFoundException("Index out of range");
         }
-        return page.getContent().get(index);
+        // Warm the detail cache: the click-through that follows is a GET /api/products/{id}
+        Product selected = page.getContent().get(index);
+        productCache.putIfUnchanged(selected, cacheGeneration);
+        return selected;
     }
 
     // Seed a single product (id,name,price) for deterministic detail page tests
@@ -69,7 +77,7 @@ public class E2EController {
         Float unitPrice = priceNum == null ? null : priceNum.floatValue();
 
         if (id == null || name == null || unitPrice == null) {
-            throw new IllegalArgumentException("id, name, unitPrice are required");
+            throw new BadRequestException("id, name, unitPrice are required");
         }
 
         Product p = productRepository.findById(id).orElseGet(() -> {
@@ -1,5 +1,6 @@
 package com.example.northwind.controller;
 
+import com.example.northwind.dto.EmployeePerformanceDto;
 import com.example.northwind.entity.Employee;
 import com.example.northwind.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
@@ -8,12 +9,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
 public class EmployeeController {
 	private final EmployeeService service;
 	@GetMapping public Page<Employee> list(Pageable p){return service.list(p);}    
+	@GetMapping("/performance") public List<EmployeePerformanceDto> performance(@RequestParam(name = "from", required = false) YearMonth from,
+																			 @RequestParam(name = "to", required = false) YearMonth to){return service.performance(from, to);}    
+	@GetMapping("/{id}/performance") public List<EmployeePerformanceDto> performanceFor(@PathVariable Integer id,
+																					 @RequestParam(name = "from", required = false) YearMonth from,
+																					 @RequestParam(name = "to", required = false) YearMonth to){return service.performance(id, from, to);}    
 	@GetMapping("/{id}") public Employee get(@PathVariable Integer id){return service.get(id);}    
 	@PostMapping @ResponseStatus(HttpStatus.CREATED) public Employee create(@RequestBody Employee e){return service.create(e);}    
 	@PutMapping("/{id}") public Employee update(@PathVariable Integer id,@RequestBody Employee e){return service.update(id,e);}    
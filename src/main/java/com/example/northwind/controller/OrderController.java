@@ -1,21 +1,25 @@
 package com.example.northwind.controller;
 
+import com.example.northwind.dto.CursorPage;
 import com.example.northwind.dto.OrderCreateDto;
-import com.example.northwind.dto.OrderDetailItemDto;
+import com.example.northwind.dto.OrderImportReport;
 import com.example.northwind.dto.OrderSummaryDto;
+import com.example.northwind.dto.ShippingStatsDto;
 import com.example.northwind.entity.Order;
-import com.example.northwind.entity.OrderDetail;
 import com.example.northwind.service.OrderDetailService;
+import com.example.northwind.service.OrderImportService;
 import com.example.northwind.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
 import java.math.BigDecimal;
-
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -23,19 +27,39 @@ import java.util.stream.Collectors;
 public class OrderController {
 	private final OrderService service;
 	private final OrderDetailService detailService;
+	private final OrderImportService importService;
 	@GetMapping public Page<Order> list(@RequestParam(name = "customerId", required = false) String customerId,
 										@RequestParam(name = "employeeId", required = false) Integer employeeId,
 										@RequestParam(name = "from", required = false) java.time.LocalDate from,
 										@RequestParam(name = "to", required = false) java.time.LocalDate to,
-										Pageable p){return service.list(customerId, employeeId, from, to, p);}    
+										@RequestParam(name = "minTotal", required = false) BigDecimal minTotal,
+										@RequestParam(name = "maxTotal", required = false) BigDecimal maxTotal,
+										@RequestParam(name = "shipped", required = false) Boolean shipped,
+										@RequestParam(name = "late", required = false) Boolean late,
+										Pageable p){return service.list(customerId, employeeId, from, to, minTotal, maxTotal, shipped, late, p);}    
+	@GetMapping(params = "after") public CursorPage<Order> scroll(@RequestParam(name = "customerId", required = false) String customerId,
+										@RequestParam(name = "employeeId", required = false) Integer employeeId,
+										@RequestParam(name = "from", required = false) java.time.LocalDate from,
+										@RequestParam(name = "to", required = false) java.time.LocalDate to,
+										@RequestParam(name = "minTotal", required = false) BigDecimal minTotal,
+										@RequestParam(name = "maxTotal", required = false) BigDecimal maxTotal,
+										@RequestParam(name = "shipped", required = false) Boolean shipped,
+										@RequestParam(name = "late", required = false) Boolean late,
+										@RequestParam(name = "after", defaultValue = "") String after,
+										Pageable p){return service.scroll(customerId, employeeId, from, to, minTotal, maxTotal, shipped, late, after, p);}    
 	@GetMapping("/{id}") public Order get(@PathVariable("id") Integer id){return service.get(id);}    
 	@PostMapping @ResponseStatus(HttpStatus.CREATED) public Order create(@RequestBody OrderCreateDto dto){
 		Order o = new Order();
 		if (dto.customerId != null) { var c = new com.example.northwind.entity.Customer(); c.setId(dto.customerId); o.setCustomer(c);}    
 		if (dto.employeeId != null) { var e = new com.example.northwind.entity.Employee(); e.setId(dto.employeeId); o.setEmployee(e);}    
 		o.setOrderDate(dto.orderDate); o.setRequiredDate(dto.requiredDate); o.setShippedDate(dto.shippedDate);
-		return service.create(o);
+		return dto.details == null || dto.details.isEmpty() ? service.create(o) : service.create(o, dto.details);
 	}    
+	/** NDJSON body, one order (with optional {@code details}) per line; loaded with COPY in chunks. */
+	@PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/json"})
+	public OrderImportReport importOrders(HttpServletRequest request, @RequestParam(name = "skipExisting", defaultValue = "false") boolean skipExisting) throws IOException {
+		return importService.importNdjson(request.getInputStream(), skipExisting);
+	}
 	@PutMapping("/{id}") public Order update(@PathVariable Integer id,@RequestBody OrderCreateDto dto){
 		Order o = new Order();
 		if (dto.customerId != null) { var c = new com.example.northwind.entity.Customer(); c.setId(dto.customerId); o.setCustomer(c);}    
@@ -46,26 +70,18 @@ public class OrderController {
 
 	@GetMapping("/{id}/summary")
 	public OrderSummaryDto summary(@PathVariable("id") Integer id) {
-		Order order = service.get(id);
-		var details = detailService.list(id);
-		OrderSummaryDto dto = new OrderSummaryDto();
-		dto.orderId = order.getId();
-		dto.customerId = order.getCustomer() != null ? order.getCustomer().getId() : null;
-		dto.employeeId = order.getEmployee() != null ? order.getEmployee().getId() : null;
-		dto.orderDate = order.getOrderDate();
-		dto.items = details.stream().map(this::mapItem).collect(Collectors.toList());
-		dto.total = service.computeTotal(id);
-		return dto;
+		return service.summary(id);
+	}
+
+	@GetMapping("/shipping-stats")
+	public ShippingStatsDto shippingStats(@RequestParam(name = "from", required = false) java.time.LocalDate from,
+										  @RequestParam(name = "to", required = false) java.time.LocalDate to) {
+		return service.shippingStats(from, to);
 	}
 
-	private OrderDetailItemDto mapItem(OrderDetail d) {
-		OrderDetailItemDto item = new OrderDetailItemDto();
-		item.productId = d.getProduct() != null ? d.getProduct().getId() : null;
-		item.productName = d.getProduct() != null ? d.getProduct().getName() : null;
-		item.unitPrice = d.getUnitPrice();
-		item.quantity = d.getQuantity();
-		item.discount = d.getDiscount();
-		return item;
+	@GetMapping("/totals")
+	public Map<Integer, BigDecimal> totals(@RequestParam(name = "ids") List<Integer> ids) {
+		return service.totals(ids);
 	}
 
 	@GetMapping("/summary/total")
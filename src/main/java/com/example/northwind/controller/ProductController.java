@@ -1,17 +1,34 @@
 package com.example.northwind.controller;
 
+import com.example.northwind.dto.CursorPage;
+import com.example.northwind.dto.ProductFacetsDto;
+import com.example.northwind.dto.ProductListItem;
+import com.example.northwind.dto.ProductReviewCreateDto;
+import com.example.northwind.dto.ProductSuggestion;
+import com.example.northwind.dto.ReorderSupplierGroup;
 import com.example.northwind.entity.Product;
 import com.example.northwind.entity.ProductReview;
+import com.example.northwind.exception.BadRequestException;
+import com.example.northwind.service.ProductReviewIngestService;
 import com.example.northwind.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -21,16 +38,80 @@ import java.util.HashMap;
 @RequiredArgsConstructor
 public class ProductController {
 	private final ProductService productService;
+	private final ProductReviewIngestService reviewIngestService;
 
 	@GetMapping
-	public Page<Product> list(@RequestParam(name = "q", required = false) String q,
+	public Page<ProductListItem> list(@RequestParam(name = "q", required = false) String q,
 							  @RequestParam(name = "categoryId", required = false) Integer categoryId,
 							  @RequestParam(name = "supplierId", required = false) Integer supplierId,
 							  @RequestParam(name = "minPrice", required = false) java.math.BigDecimal minPrice,
 							  @RequestParam(name = "maxPrice", required = false) java.math.BigDecimal maxPrice,
 							  @RequestParam(name = "discontinued", required = false) Boolean discontinued,
+							  @RequestParam(name = "variantColor", required = false) String color,
+							  @RequestParam(name = "variantSize", required = false) String size,
+							  @RequestParam(name = "includeRatings", defaultValue = "false") boolean includeRatings,
 							  Pageable pageable) {
-		return productService.list(q, categoryId, supplierId, minPrice, maxPrice, discontinued, pageable);
+		Page<ProductListItem> page = productService.list(q, categoryId, supplierId, minPrice, maxPrice, discontinued, color, size, pageable);
+		if (includeRatings) productService.attachRatings(page.getContent());
+		return page;
+	}
+
+	@GetMapping(params = "after")
+	public CursorPage<ProductListItem> scroll(@RequestParam(name = "q", required = false) String q,
+									  @RequestParam(name = "categoryId", required = false) Integer categoryId,
+									  @RequestParam(name = "supplierId", required = false) Integer supplierId,
+									  @RequestParam(name = "minPrice", required = false) java.math.BigDecimal minPrice,
+									  @RequestParam(name = "maxPrice", required = false) java.math.BigDecimal maxPrice,
+									  @RequestParam(name = "discontinued", required = false) Boolean discontinued,
+									  @RequestParam(name = "variantColor", required = false) String color,
+									  @RequestParam(name = "variantSize", required = false) String size,
+									  @RequestParam(name = "after", defaultValue = "") String after,
+									  @RequestParam(name = "includeRatings", defaultValue = "false") boolean includeRatings,
+									  Pageable pageable) {
+		CursorPage<ProductListItem> page = productService.scroll(q, categoryId, supplierId, minPrice, maxPrice, discontinued, color, size, after, pageable);
+		if (includeRatings) productService.attachRatings(page.content);
+		return page;
+	}
+
+	@GetMapping(params = "ids")
+	public List<Product> getAll(@RequestParam(name = "ids") List<Integer> ids) {
+		return productService.getAll(ids);
+	}
+
+	@GetMapping("/facets")
+	public ProductFacetsDto facets(@RequestParam(name = "q", required = false) String q,
+								   @RequestParam(name = "categoryId", required = false) Integer categoryId,
+								   @RequestParam(name = "supplierId", required = false) Integer supplierId,
+								   @RequestParam(name = "minPrice", required = false) java.math.BigDecimal minPrice,
+								   @RequestParam(name = "maxPrice", required = false) java.math.BigDecimal maxPrice,
+								   @RequestParam(name = "discontinued", required = false) Boolean discontinued,
+								   @RequestParam(name = "variantColor", required = false) String color,
+								   @RequestParam(name = "variantSize", required = false) String size) {
+		return productService.facets(q, categoryId, supplierId, minPrice, maxPrice, discontinued, color, size);
+	}
+
+	@GetMapping("/suggest")
+	public List<ProductSuggestion> suggest(@RequestParam(name = "prefix") String prefix,
+										   @RequestParam(name = "limit", defaultValue = "10") int limit) {
+		return productService.suggest(prefix, limit);
+	}
+
+	@GetMapping("/reorder")
+	public List<ReorderSupplierGroup> reorder() {
+		return productService.reorder();
+	}
+
+	// Written straight to the servlet stream (ETag buffering disabled) so large catalogs are never held in memory
+	@GetMapping("/export")
+	public void export(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+					   HttpServletRequest request, HttpServletResponse response) throws IOException {
+		if (!"ndjson".equals(format) && !"csv".equals(format)) {
+			throw new BadRequestException("format must be ndjson or csv");
+		}
+		ShallowEtagHeaderFilter.disableContentCaching(request);
+		response.setContentType("csv".equals(format) ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format + "\"");
+		productService.export(format, response.getOutputStream());
 	}
 
 	@GetMapping("/{id}")
@@ -43,6 +124,19 @@ public class ProductController {
 		return productService.getReviews(id);
 	}
 
+	@GetMapping(value = "/{id}/reviews", params = "after")
+	public CursorPage<ProductReview> scrollReviews(@PathVariable Integer id,
+												   @RequestParam(name = "after", defaultValue = "") String after,
+												   Pageable pageable) {
+		return productService.scrollReviews(id, after, pageable);
+	}
+
+	@PostMapping("/reviews/bulk")
+	@ResponseStatus(HttpStatus.CREATED)
+	public Map<String, Object> ingestReviews(@RequestBody List<ProductReviewCreateDto> reviews) {
+		return Map.of("inserted", reviewIngestService.ingest(reviews));
+	}
+
 	@GetMapping("/{id}/reviews/stats")
 	public Map<String, Object> getReviewStats(@PathVariable Integer id) {
 		return productService.getReviewStats(id);
@@ -0,0 +1,17 @@
+package com.example.northwind.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+	public List<T> content;
+	public int size;
+	public String nextCursor;
+
+	public CursorPage() {}
+
+	public CursorPage(List<T> content, String nextCursor) {
+		this.content = content;
+		this.size = content.size();
+		this.nextCursor = nextCursor;
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.northwind.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+
+/** Orders, revenue and ship delay for one employee, either over a month range or for a single {@code month}. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeePerformanceDto {
+	public Integer employeeId;
+	public String firstName;
+	public String lastName;
+	public YearMonth month;
+	public long orderCount;
+	public BigDecimal revenue;
+	public BigDecimal averageOrderValue;
+	public long shippedCount;
+	/** Mean of shippedDate - orderDate in days over shipped orders; absent when nothing shipped. */
+	public BigDecimal averageShipDelayDays;
+
+	public static EmployeePerformanceDto of(long orderCount, BigDecimal revenue, long shippedCount, long shipDelayDays) {
+		EmployeePerformanceDto dto = new EmployeePerformanceDto();
+		dto.orderCount = orderCount;
+		dto.revenue = revenue;
+		dto.averageOrderValue = orderCount == 0 ? BigDecimal.ZERO : revenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP);
+		dto.shippedCount = shippedCount;
+		dto.averageShipDelayDays = shippedCount == 0 ? null : BigDecimal.valueOf(shipDelayDays).divide(BigDecimal.valueOf(shippedCount), 1, RoundingMode.HALF_UP);
+		return dto;
+	}
+}
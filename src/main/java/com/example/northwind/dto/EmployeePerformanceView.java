@@ -0,0 +1,13 @@
+package com.example.northwind.dto;
+
+import java.math.BigDecimal;
+
+public interface EmployeePerformanceView {
+	Integer getEmployeeId();
+	String getFirstName();
+	String getLastName();
+	Long getOrderCount();
+	BigDecimal getRevenue();
+	Long getShippedCount();
+	Long getShipDelayDays();
+}
@@ -1,6 +1,7 @@
 package com.example.northwind.dto;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public class OrderCreateDto {
 	public String customerId;
@@ -8,4 +9,6 @@ public class OrderCreateDto {
 	public LocalDate orderDate;
 	public LocalDate requiredDate;
 	public LocalDate shippedDate;
+	/** Optional lines, inserted with the order in one transaction. */
+	public List<OrderDetailCreateDto> details;
 }
@@ -0,0 +1,6 @@
+package com.example.northwind.dto;
+
+/** One NDJSON line of an order import: the ERP's order id plus the usual order fields and its lines. */
+public class OrderImportRecord extends OrderCreateDto {
+	public Integer orderId;
+}
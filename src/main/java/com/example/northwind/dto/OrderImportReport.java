@@ -0,0 +1,26 @@
+package com.example.northwind.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderImportReport {
+	public long orders;
+	public long lines;
+	/** Records dropped because their orderId already existed (skipExisting=true). */
+	public long skipped;
+	public long millis;
+	public List<Chunk> chunks = new ArrayList<>();
+	/** Set when the import stopped early: everything counted above is committed, nothing from this record on. */
+	public Long failedAtRecord;
+	public Integer lastCommittedOrderId;
+	public String error;
+
+	public static class Chunk {
+		public int chunk;
+		public int orders;
+		public int lines;
+		public int skipped;
+		public long millis;
+		public long rowsPerSecond;
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.northwind.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** One row per order line (or a single row with null line fields for an order without lines). */
+public interface OrderSummaryRow {
+	Integer getOrderId();
+	String getCustomerId();
+	Integer getEmployeeId();
+	LocalDate getOrderDate();
+	BigDecimal getOrderTotal();
+	Integer getProductId();
+	String getProductName();
+	BigDecimal getUnitPrice();
+	Short getQuantity();
+	Float getDiscount();
+}
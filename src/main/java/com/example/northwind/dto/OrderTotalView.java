@@ -0,0 +1,8 @@
+package com.example.northwind.dto;
+
+import java.math.BigDecimal;
+
+public interface OrderTotalView {
+	Integer getOrderId();
+	BigDecimal getTotal();
+}
@@ -0,0 +1,12 @@
+package com.example.northwind.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ProductFacetsDto {
+	public long total;
+	public Map<Integer, Long> categories = new LinkedHashMap<>();
+	public Map<Integer, Long> suppliers = new LinkedHashMap<>();
+	public Map<String, Long> priceBuckets = new LinkedHashMap<>();
+	public Map<Boolean, Long> discontinued = new LinkedHashMap<>();
+}
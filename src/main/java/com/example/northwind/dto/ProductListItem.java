@@ -0,0 +1,52 @@
+package com.example.northwind.dto;
+
+import com.example.northwind.entity.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Row shape for product grids and search results: everything but the large text/JSON columns
+ * (description, variants, care instructions, detailed description), which only the detail view needs.
+ */
+public class ProductListItem {
+	public Integer id;
+	public String name;
+	public Integer categoryId;
+	public Integer supplierId;
+	public String quantityPerUnit;
+	public Float unitPrice;
+	public Short unitsInStock;
+	public Short unitsOnOrder;
+	public Short reorderLevel;
+	public Boolean discontinued;
+	public String imageUrl;
+	/** Filled only when the list is requested with {@code includeRatings=true}. */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public Double averageRating;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public Long reviewCount;
+
+	public ProductListItem() {}
+
+	public ProductListItem(Integer id, String name, Integer categoryId, Integer supplierId, String quantityPerUnit,
+						   Float unitPrice, Short unitsInStock, Short unitsOnOrder, Short reorderLevel,
+						   Boolean discontinued, String imageUrl) {
+		this.id = id;
+		this.name = name;
+		this.categoryId = categoryId;
+		this.supplierId = supplierId;
+		this.quantityPerUnit = quantityPerUnit;
+		this.unitPrice = unitPrice;
+		this.unitsInStock = unitsInStock;
+		this.unitsOnOrder = unitsOnOrder;
+		this.reorderLevel = reorderLevel;
+		this.discontinued = discontinued;
+		this.imageUrl = imageUrl;
+	}
+
+	public static ProductListItem from(Product p) {
+		return new ProductListItem(p.getId(), p.getName(), p.getCategoryId(),
+				p.getSupplier() != null ? p.getSupplier().getId() : null, p.getQuantityPerUnit(),
+				p.getUnitPrice(), p.getUnitsInStock(), p.getUnitsOnOrder(), p.getReorderLevel(),
+				p.getDiscontinued(), p.getImageUrl());
+	}
+}
@@ -0,0 +1,6 @@
+package com.example.northwind.dto;
+
+public interface ProductNameView {
+	Integer getId();
+	String getName();
+}
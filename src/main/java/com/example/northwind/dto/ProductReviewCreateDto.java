@@ -0,0 +1,11 @@
+package com.example.northwind.dto;
+
+import java.time.LocalDateTime;
+
+public class ProductReviewCreateDto {
+	public Integer productId;
+	public String customerName;
+	public Integer rating;
+	public String reviewText;
+	public LocalDateTime createdAt;
+}
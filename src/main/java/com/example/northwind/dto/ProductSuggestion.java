@@ -0,0 +1,13 @@
+package com.example.northwind.dto;
+
+public class ProductSuggestion {
+	public Integer id;
+	public String name;
+
+	public ProductSuggestion() {}
+
+	public ProductSuggestion(Integer id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+}
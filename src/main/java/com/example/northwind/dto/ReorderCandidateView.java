@@ -0,0 +1,12 @@
+package com.example.northwind.dto;
+
+public interface ReorderCandidateView {
+	Integer getProductId();
+	String getProductName();
+	Integer getSupplierId();
+	String getSupplierName();
+	Integer getUnitsInStock();
+	Integer getUnitsOnOrder();
+	Integer getReorderLevel();
+	Integer getShortfall();
+}
@@ -0,0 +1,17 @@
+package com.example.northwind.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReorderSupplierGroup {
+	public Integer supplierId;
+	public String supplierName;
+	public List<ReorderCandidateView> products = new ArrayList<>();
+
+	public ReorderSupplierGroup() {}
+
+	public ReorderSupplierGroup(Integer supplierId, String supplierName) {
+		this.supplierId = supplierId;
+		this.supplierName = supplierName;
+	}
+}
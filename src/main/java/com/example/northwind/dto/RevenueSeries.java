@@ -0,0 +1,20 @@
+package com.example.northwind.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RevenueSeries {
+	public String bucket;
+	/** Consecutive buckets summed into each point; 1 unless the series was downsampled to fit maxPoints. */
+	public int bucketsPerPoint = 1;
+	public List<Point> points = new ArrayList<>();
+
+	public static class Point {
+		/** First day of the first bucket in this point. */
+		public LocalDate period;
+		public BigDecimal revenue;
+		public long quantity;
+	}
+}
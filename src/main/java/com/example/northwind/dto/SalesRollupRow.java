@@ -0,0 +1,17 @@
+package com.example.northwind.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesRollupRow {
+	/** First day of the period; absent when not grouping by time. */
+	public LocalDate period;
+	/** Category id, employee id or country; absent when not grouping by a dimension. */
+	public String key;
+	public BigDecimal revenue;
+	public long quantity;
+	public long orderCount;
+}
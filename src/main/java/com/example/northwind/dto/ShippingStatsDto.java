@@ -0,0 +1,16 @@
+package com.example.northwind.dto;
+
+import java.math.BigDecimal;
+
+public class ShippingStatsDto {
+	public long shipped;
+	public long shippedOnTime;
+	public long shippedLate;
+	/** Share of shipped orders with a required date that shipped on or before it; null when there are none. */
+	public BigDecimal onTimePercent;
+	/** Mean of shippedDate - orderDate in days. */
+	public BigDecimal averageShipDays;
+	public long unshipped;
+	/** Unshipped orders whose required date has passed. */
+	public long unshippedOverdue;
+}
@@ -0,0 +1,12 @@
+package com.example.northwind.dto;
+
+import java.math.BigDecimal;
+
+public interface ShippingStatsView {
+	Long getShipped();
+	Long getShippedOnTime();
+	Long getShippedLate();
+	BigDecimal getAverageShipDays();
+	Long getUnshipped();
+	Long getUnshippedOverdue();
+}
@@ -0,0 +1,19 @@
+package com.example.northwind.dto;
+
+import java.math.BigDecimal;
+
+public class TopProductDto {
+	public Integer productId;
+	public String productName;
+	public BigDecimal revenue;
+	public long quantity;
+
+	public TopProductDto() {}
+
+	public TopProductDto(Integer productId, String productName, BigDecimal revenue, long quantity) {
+		this.productId = productId;
+		this.productName = productName;
+		this.revenue = revenue;
+		this.quantity = quantity;
+	}
+}
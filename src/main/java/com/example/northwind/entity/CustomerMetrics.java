@@ -0,0 +1,58 @@
+package com.example.northwind.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Read-only view of customer_metrics; rows are written in bulk by CustomerMetricsService. */
+@Getter
+@Setter
+@Entity
+@Immutable
+@Table(name = "customer_metrics")
+public class CustomerMetrics {
+	@Id
+	@Column(name = "customer_id", length = 5)
+	private String customerId;
+
+	@Column(name = "order_count", nullable = false)
+	private Integer orderCount;
+
+	@Column(name = "lifetime_value", nullable = false)
+	private BigDecimal lifetimeValue;
+
+	@Column(name = "average_order_value", nullable = false)
+	private BigDecimal averageOrderValue;
+
+	@Column(name = "first_order_date")
+	private LocalDate firstOrderDate;
+
+	@Column(name = "last_order_date")
+	private LocalDate lastOrderDate;
+
+	@Column(name = "recency_days")
+	private Integer recencyDays;
+
+	@Column(name = "recency_score", nullable = false)
+	private Short recencyScore;
+
+	@Column(name = "frequency_score", nullable = false)
+	private Short frequencyScore;
+
+	@Column(name = "monetary_score", nullable = false)
+	private Short monetaryScore;
+
+	@Column(name = "rfm_segment", nullable = false, length = 3)
+	private String rfmSegment;
+
+	@Column(name = "as_of_date")
+	private LocalDate asOfDate;
+
+	@Column(name = "computed_at", nullable = false)
+	private LocalDateTime computedAt;
+}
@@ -0,0 +1,31 @@
+package com.example.northwind.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/** Read-only view of the trigger-maintained per-employee monthly aggregates (see V16__employee_monthly_stats.sql). */
+@Getter
+@Setter
+@Entity
+@Immutable
+@Table(name = "employee_monthly_stats")
+public class EmployeeMonthlyStats {
+	@EmbeddedId
+	private EmployeeMonthlyStatsId id;
+
+	@Column(name = "order_count", nullable = false)
+	private Long orderCount;
+
+	@Column(name = "revenue", nullable = false)
+	private BigDecimal revenue;
+
+	@Column(name = "shipped_count", nullable = false)
+	private Long shippedCount;
+
+	@Column(name = "ship_delay_days", nullable = false)
+	private Long shipDelayDays;
+}
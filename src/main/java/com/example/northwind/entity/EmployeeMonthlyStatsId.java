@@ -0,0 +1,21 @@
+package com.example.northwind.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@Embeddable
+public class EmployeeMonthlyStatsId implements Serializable {
+	@Column(name = "employee_id")
+	private Integer employeeId;
+	@Column(name = "month")
+	private LocalDate month;
+}
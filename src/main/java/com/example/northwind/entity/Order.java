@@ -1,15 +1,21 @@
 package com.example.northwind.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "orders")
+@EntityListeners(OrderEntityListener.class)
 public class Order {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,9 +33,26 @@ public class Order {
 	@Column(name = "order_date")
 	private LocalDate orderDate;
 
+	/** order_date as last loaded or written; maintained by {@link OrderEntityListener}. */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	LocalDate persistedOrderDate;
+
 	@Column(name = "required_date")
 	private LocalDate requiredDate;
 
 	@Column(name = "shipped_date")
 	private LocalDate shippedDate;
+
+	/** Maintained by the order_details triggers (V13); re-read after every insert/update of the order. */
+	@Generated(event = {EventType.INSERT, EventType.UPDATE})
+	@ColumnDefault("0")
+	@Column(name = "order_total", nullable = false)
+	private BigDecimal orderTotal;
+
+	@Generated(event = {EventType.INSERT, EventType.UPDATE})
+	@ColumnDefault("0")
+	@Column(name = "line_count", nullable = false)
+	private Integer lineCount;
 }
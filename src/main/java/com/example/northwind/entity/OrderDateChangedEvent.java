@@ -0,0 +1,9 @@
+package com.example.northwind.entity;
+
+import java.time.LocalDate;
+
+/**
+ * Published when an order moves to another order date or is removed, so per-day read models can refresh
+ * the day it left as well as the one it joined. {@code orderDate} is null for removals.
+ */
+public record OrderDateChangedEvent(Integer orderId, LocalDate previousDate, LocalDate orderDate) {}
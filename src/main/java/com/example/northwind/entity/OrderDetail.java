@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 @Getter
 @Setter
 @Entity
+@EntityListeners(OrderDetailEntityListener.class)
 @Table(name = "order_details")
 public class OrderDetail {
 	@EmbeddedId
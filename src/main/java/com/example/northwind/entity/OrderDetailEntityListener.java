@@ -0,0 +1,22 @@
+package com.example.northwind.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/** Same wiring as {@link ProductEntityListener}: covers every JPA writer of {@link OrderDetail}. */
+public class OrderDetailEntityListener {
+	private final ApplicationEventPublisher publisher;
+
+	public OrderDetailEntityListener(ApplicationEventPublisher publisher) {
+		this.publisher = publisher;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void onChange(OrderDetail detail) {
+		if (detail.getId() != null) publisher.publishEvent(new OrderLinesChangedEvent(detail.getId().getOrderId()));
+	}
+}
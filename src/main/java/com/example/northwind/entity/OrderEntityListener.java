@@ -0,0 +1,37 @@
+package com.example.northwind.entity;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Objects;
+
+/** Same wiring as {@link OrderDetailEntityListener}; remembers the stored order date to report the day an order left. */
+public class OrderEntityListener {
+	private final ApplicationEventPublisher publisher;
+
+	public OrderEntityListener(ApplicationEventPublisher publisher) {
+		this.publisher = publisher;
+	}
+
+	@PostLoad
+	@PostPersist
+	void onLoad(Order order) {
+		order.persistedOrderDate = order.getOrderDate();
+	}
+
+	@PostUpdate
+	void onUpdate(Order order) {
+		if (!Objects.equals(order.persistedOrderDate, order.getOrderDate())) {
+			publisher.publishEvent(new OrderDateChangedEvent(order.getId(), order.persistedOrderDate, order.getOrderDate()));
+		}
+		order.persistedOrderDate = order.getOrderDate();
+	}
+
+	@PostRemove
+	void onRemove(Order order) {
+		if (order.persistedOrderDate != null) publisher.publishEvent(new OrderDateChangedEvent(order.getId(), order.persistedOrderDate, null));
+	}
+}
@@ -0,0 +1,4 @@
+package com.example.northwind.entity;
+
+/** Published when lines of an order are inserted, updated or removed, for in-process sales read models. */
+public record OrderLinesChangedEvent(Integer orderId) {}
@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "products")
+@EntityListeners(ProductEntityListener.class)
 public class Product {
 	@Id
 	@Column(name = "product_id")
@@ -51,8 +54,9 @@ public class Product {
 	@Column(name = "description", columnDefinition = "TEXT")
 	private String description;
 
-	@Column(name = "variants", columnDefinition = "TEXT")
-	private String variants; // JSON string for color options, sizes, etc.
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(name = "variants", columnDefinition = "jsonb")
+	private ProductVariants variants;
 
 	@Column(name = "care_instructions", columnDefinition = "TEXT")
 	private String careInstructions;
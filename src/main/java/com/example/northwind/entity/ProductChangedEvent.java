@@ -0,0 +1,9 @@
+package com.example.northwind.entity;
+
+/**
+ * Published whenever a {@link Product} row is inserted, updated or removed, so that in-process
+ * read models (caches, indexes) can refresh themselves. {@code product} is null for removals.
+ */
+public record ProductChangedEvent(Integer productId, Product product) {
+	public boolean isRemoval() { return product == null; }
+}
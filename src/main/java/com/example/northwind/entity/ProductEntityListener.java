@@ -0,0 +1,30 @@
+package com.example.northwind.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Instantiated by Hibernate through Spring's bean container, so every writer of {@link Product}
+ * (services, repositories, the e2e seeding endpoint) is covered without having to remember to
+ * notify the read models explicitly.
+ */
+public class ProductEntityListener {
+	private final ApplicationEventPublisher publisher;
+
+	public ProductEntityListener(ApplicationEventPublisher publisher) {
+		this.publisher = publisher;
+	}
+
+	@PostPersist
+	@PostUpdate
+	void onSave(Product product) {
+		publisher.publishEvent(new ProductChangedEvent(product.getId(), product));
+	}
+
+	@PostRemove
+	void onRemove(Product product) {
+		publisher.publishEvent(new ProductChangedEvent(product.getId(), null));
+	}
+}
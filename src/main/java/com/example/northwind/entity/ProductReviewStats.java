@@ -0,0 +1,43 @@
+package com.example.northwind.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/** Read-only view of the trigger-maintained review aggregates (see V11__product_review_stats.sql). */
+@Getter
+@Setter
+@Entity
+@Immutable
+@Table(name = "product_review_stats")
+public class ProductReviewStats {
+	@Id
+	@Column(name = "product_id")
+	private Integer productId;
+
+	@Column(name = "review_count", nullable = false)
+	private Long reviewCount;
+
+	@Column(name = "rating_sum", nullable = false)
+	private Long ratingSum;
+
+	@Column(name = "rating_1", nullable = false)
+	private Long rating1;
+
+	@Column(name = "rating_2", nullable = false)
+	private Long rating2;
+
+	@Column(name = "rating_3", nullable = false)
+	private Long rating3;
+
+	@Column(name = "rating_4", nullable = false)
+	private Long rating4;
+
+	@Column(name = "rating_5", nullable = false)
+	private Long rating5;
+
+	public double averageRating() {
+		return reviewCount == null || reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.northwind.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductVariants {
+	private List<String> colors = new ArrayList<>();
+	private List<String> sizes = new ArrayList<>();
+}
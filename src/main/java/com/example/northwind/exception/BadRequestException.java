@@ -0,0 +1,15 @@
+package com.example.northwind.exception;
+
+/**
+ * A request the client can fix: malformed cursor, out-of-range parameter, invalid payload. Mapped to 400 by
+ * GlobalExceptionHandler; anything else that escapes a controller stays a server error.
+ */
+public class BadRequestException extends RuntimeException {
+	public BadRequestException(String message) {
+		super(message);
+	}
+
+	public BadRequestException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
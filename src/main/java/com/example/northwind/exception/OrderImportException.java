@@ -0,0 +1,22 @@
+package com.example.northwind.exception;
+
+import com.example.northwind.dto.OrderImportReport;
+import lombok.Getter;
+
+/**
+ * An order import that stopped part-way; carries the report of the chunks already committed so the client
+ * knows where to resume. A BadRequestException cause is the client's fault (400), anything else is a 500.
+ */
+@Getter
+public class OrderImportException extends RuntimeException {
+	private final OrderImportReport report;
+
+	public OrderImportException(OrderImportReport report, RuntimeException cause) {
+		super(cause.getMessage(), cause);
+		this.report = report;
+	}
+
+	public boolean isBadRequest() {
+		return getCause() instanceof BadRequestException;
+	}
+}
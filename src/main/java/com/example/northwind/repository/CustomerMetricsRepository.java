@@ -0,0 +1,10 @@
+package com.example.northwind.repository;
+
+import com.example.northwind.entity.CustomerMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CustomerMetricsRepository extends JpaRepository<CustomerMetrics, String> {
+	Page<CustomerMetrics> findByRfmSegment(String rfmSegment, Pageable pageable);
+}
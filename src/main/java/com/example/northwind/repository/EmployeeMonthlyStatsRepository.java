@@ -0,0 +1,23 @@
+package com.example.northwind.repository;
+
+import com.example.northwind.dto.EmployeePerformanceView;
+import com.example.northwind.entity.EmployeeMonthlyStats;
+import com.example.northwind.entity.EmployeeMonthlyStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EmployeeMonthlyStatsRepository extends JpaRepository<EmployeeMonthlyStats, EmployeeMonthlyStatsId> {
+	List<EmployeeMonthlyStats> findByIdEmployeeIdAndIdMonthBetweenOrderByIdMonth(Integer employeeId, LocalDate from, LocalDate to);
+
+	@Query("SELECT s.id.employeeId AS employeeId, e.firstName AS firstName, e.lastName AS lastName, " +
+			"sum(s.orderCount) AS orderCount, sum(s.revenue) AS revenue, sum(s.shippedCount) AS shippedCount, sum(s.shipDelayDays) AS shipDelayDays " +
+			"FROM EmployeeMonthlyStats s LEFT JOIN Employee e ON e.id = s.id.employeeId " +
+			"WHERE s.id.month BETWEEN :from AND :to " +
+			"GROUP BY s.id.employeeId, e.firstName, e.lastName HAVING sum(s.orderCount) > 0 " +
+			"ORDER BY sum(s.revenue) DESC, s.id.employeeId")
+	List<EmployeePerformanceView> summarize(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,7 +1,54 @@
 package com.example.northwind.repository;
 
+import com.example.northwind.dto.OrderSummaryRow;
+import com.example.northwind.dto.OrderTotalView;
+import com.example.northwind.dto.ShippingStatsView;
 import com.example.northwind.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<Order, Integer>, JpaSpecificationExecutor<Order> {}
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Integer>, JpaSpecificationExecutor<Order> {
+	/** Order header, stored total, lines and product names in one statement; customer and employee ids come from the FK columns. */
+	@Query("select o.id as orderId, o.customer.id as customerId, o.employee.id as employeeId, o.orderDate as orderDate, o.orderTotal as orderTotal, " +
+			"p.id as productId, p.name as productName, od.unitPrice as unitPrice, od.quantity as quantity, od.discount as discount " +
+			"from Order o left join OrderDetail od on od.order = o left join od.product p " +
+			"where o.id = :orderId order by p.id")
+	List<OrderSummaryRow> findSummaryRows(@Param("orderId") Integer orderId);
+
+	@Query("select o.orderTotal from Order o where o.id = :orderId")
+	Optional<BigDecimal> findOrderTotal(@Param("orderId") Integer orderId);
+
+	@Query("select o.id as orderId, o.orderTotal as total from Order o where o.id in :orderIds")
+	List<OrderTotalView> findOrderTotals(@Param("orderIds") Collection<Integer> orderIds);
+
+	@Query("select coalesce(sum(o.orderTotal), 0) from Order o " +
+			"where (:customerId is null or o.customer.id = :customerId) " +
+			"and (:fromDate is null or o.orderDate >= :fromDate) " +
+			"and (:toDate is null or o.orderDate <= :toDate)")
+	BigDecimal sumOrderTotals(@Param("customerId") String customerId,
+							  @Param("fromDate") java.time.LocalDate fromDate,
+							  @Param("toDate") java.time.LocalDate toDate);
+
+	/**
+	 * On-time figures over shipped orders in the date range, plus the current unshipped backlog from
+	 * idx_orders_unshipped (V17) so that polling it does not scan orders.
+	 */
+	@Query(value = "select count(*) as \"shipped\", " +
+			"count(*) filter (where o.shipped_date <= o.required_date) as \"shippedOnTime\", " +
+			"count(*) filter (where o.shipped_date > o.required_date) as \"shippedLate\", " +
+			"avg(o.shipped_date - o.order_date) as \"averageShipDays\", " +
+			"(select count(*) from orders u where u.shipped_date is null) as \"unshipped\", " +
+			"(select count(*) from orders u where u.shipped_date is null and u.required_date < current_date) as \"unshippedOverdue\" " +
+			"from orders o where o.shipped_date is not null " +
+			"and (cast(:fromDate as date) is null or o.order_date >= :fromDate) " +
+			"and (cast(:toDate as date) is null or o.order_date <= :toDate)", nativeQuery = true)
+	ShippingStatsView findShippingStats(@Param("fromDate") java.time.LocalDate fromDate,
+										@Param("toDate") java.time.LocalDate toDate);
+}
@@ -1,7 +1,36 @@
 package com.example.northwind.repository;
 
+import com.example.northwind.dto.ProductNameView;
+import com.example.northwind.dto.ReorderCandidateView;
 import com.example.northwind.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> { }
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
+	List<ProductNameView> findAllProjectedBy();
+
+	/** Forward-only cursor over the whole catalog; must be consumed inside a transaction and closed. */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("select p from Product p order by p.id")
+	Stream<Product> streamAll();
+
+	/** Active, restocked (reorder level above 0) products at or below their reorder level, served by idx_products_reorder_gap (V10). */
+	@Query(value = "select p.product_id as \"productId\", p.product_name as \"productName\", " +
+			"p.supplier_id as \"supplierId\", s.company_name as \"supplierName\", " +
+			"p.units_in_stock as \"unitsInStock\", p.units_on_order as \"unitsOnOrder\", p.reorder_level as \"reorderLevel\", " +
+			"(p.reorder_level - p.units_in_stock - p.units_on_order) as \"shortfall\" " +
+			"from products p left join suppliers s on s.supplier_id = p.supplier_id " +
+			"where p.discontinued = 0 and p.reorder_level > 0 and (p.units_in_stock + p.units_on_order - p.reorder_level) <= 0 " +
+			"order by p.supplier_id, p.product_id", nativeQuery = true)
+	List<ReorderCandidateView> findReorderCandidates();
+}
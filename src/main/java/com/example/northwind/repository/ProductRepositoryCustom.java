@@ -0,0 +1,25 @@
+package com.example.northwind.repository;
+
+import com.example.northwind.dto.ProductListItem;
+import com.example.northwind.entity.Product;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+	/**
+	 * Same filtering and paging as {@code findAll(spec, pageable)}, but selects only the list columns.
+	 * An unsorted pageable with a search term {@code q} orders rows by its relevance.
+	 */
+	Page<ProductListItem> findListItems(Specification<Product> spec, String q, Pageable pageable);
+
+	/**
+	 * Counts matching products grouped by (categoryId, supplierId, discontinued) in a single query.
+	 * Each tuple also carries {@code bucket0..bucketN} conditional counts, where bucket {@code i} holds
+	 * prices below {@code priceBounds[i]} (and at or above the previous bound) and the last bucket is open-ended.
+	 */
+	List<Tuple> countFacetGroups(Specification<Product> spec, List<Float> priceBounds);
+}
@@ -0,0 +1,88 @@
+package com.example.northwind.repository;
+
+import com.example.northwind.dto.ProductListItem;
+import com.example.northwind.entity.Product;
+import com.example.northwind.repository.spec.ProductSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public Page<ProductListItem> findListItems(Specification<Product> spec, String q, Pageable pageable) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<ProductListItem> cq = cb.createQuery(ProductListItem.class);
+		Root<Product> root = cq.from(Product.class);
+		where(cq, spec.toPredicate(root, cq, cb));
+		cq.select(cb.construct(ProductListItem.class,
+				root.get("id"), root.get("name"), root.get("categoryId"), root.get("supplier").get("id"),
+				root.get("quantityPerUnit"), root.get("unitPrice"), root.get("unitsInStock"),
+				root.get("unitsOnOrder"), root.get("reorderLevel"), root.get("discontinued"), root.get("imageUrl")));
+		if (pageable.getSort().isSorted()) {
+			cq.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+		} else {
+			cq.orderBy(ProductSpecifications.relevance(q, root, cb));
+		}
+		TypedQuery<ProductListItem> query = em.createQuery(cq);
+		if (pageable.isPaged()) {
+			query.setFirstResult((int) pageable.getOffset());
+			query.setMaxResults(pageable.getPageSize());
+		}
+		return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+	}
+
+	@Override
+	public List<Tuple> countFacetGroups(Specification<Product> spec, List<Float> priceBounds) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+		Root<Product> root = cq.from(Product.class);
+		where(cq, spec.toPredicate(root, cq, cb));
+		Path<Integer> categoryId = root.get("categoryId");
+		Path<Integer> supplierId = root.get("supplier").get("id");
+		Path<Boolean> discontinued = root.get("discontinued");
+		Path<Float> price = root.get("unitPrice");
+		List<Selection<?>> selections = new ArrayList<>(List.of(
+				categoryId.alias("categoryId"), supplierId.alias("supplierId"),
+				discontinued.alias("discontinued"), cb.count(root).alias("count")));
+		for (int i = 0; i <= priceBounds.size(); i++) {
+			Predicate inBucket = cb.isNotNull(price);
+			if (i > 0) inBucket = cb.and(inBucket, cb.greaterThanOrEqualTo(price, priceBounds.get(i - 1)));
+			if (i < priceBounds.size()) inBucket = cb.and(inBucket, cb.lessThan(price, priceBounds.get(i)));
+			selections.add(cb.sum(cb.<Integer>selectCase().when(inBucket, 1).otherwise(0)).alias("bucket" + i));
+		}
+		cq.multiselect(selections);
+		cq.groupBy(categoryId, supplierId, discontinued);
+		return em.createQuery(cq).getResultList();
+	}
+
+	private long count(Specification<Product> spec) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Product> root = cq.from(Product.class);
+		where(cq, spec.toPredicate(root, cq, cb));
+		cq.select(cb.count(root));
+		return em.createQuery(cq).getSingleResult();
+	}
+
+	private static void where(CriteriaQuery<?> cq, Predicate predicate) {
+		if (predicate != null) cq.where(predicate);
+	}
+}
@@ -1,6 +1,9 @@
 package com.example.northwind.repository;
 
 import com.example.northwind.entity.ProductReview;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +15,9 @@ import java.util.List;
 public interface ProductReviewRepository extends JpaRepository<ProductReview, Long> {
     
     List<ProductReview> findByProductIdOrderByCreatedAtDesc(Integer productId);
+
+    /** Newest-first keyset page; the ordering matches idx_product_reviews_product_created. */
+    Window<ProductReview> findByProductIdOrderByCreatedAtDescIdDesc(Integer productId, ScrollPosition position, Limit limit);
     
     @Query("SELECT AVG(r.rating) FROM ProductReview r WHERE r.productId = :productId")
     Double findAverageRatingByProductId(@Param("productId") Integer productId);
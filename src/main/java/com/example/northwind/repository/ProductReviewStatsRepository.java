@@ -0,0 +1,6 @@
+package com.example.northwind.repository;
+
+import com.example.northwind.entity.ProductReviewStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductReviewStatsRepository extends JpaRepository<ProductReviewStats, Integer> {}
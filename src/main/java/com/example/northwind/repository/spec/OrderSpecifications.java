@@ -1,8 +1,11 @@
 package com.example.northwind.repository.spec;
 
 import com.example.northwind.entity.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 public class OrderSpecifications {
@@ -18,4 +21,25 @@ public class OrderSpecifications {
 	public static Specification<Order> dateTo(LocalDate to){
 		return (root,cq,cb) -> to==null? cb.conjunction() : cb.lessThanOrEqualTo(root.get("orderDate"), to);
 	}
+	public static Specification<Order> minTotal(BigDecimal min){
+		return (root,cq,cb) -> min==null? cb.conjunction() : cb.greaterThanOrEqualTo(root.get("orderTotal"), min);
+	}
+	public static Specification<Order> maxTotal(BigDecimal max){
+		return (root,cq,cb) -> max==null? cb.conjunction() : cb.lessThanOrEqualTo(root.get("orderTotal"), max);
+	}
+	public static Specification<Order> shipped(Boolean shipped){
+		return (root,cq,cb) -> shipped==null? cb.conjunction() : shipped ? cb.isNotNull(root.get("shippedDate")) : cb.isNull(root.get("shippedDate"));
+	}
+	/** Shipped after the required date, or unshipped with the required date already past; orders without a required date are never late. */
+	public static Specification<Order> late(Boolean late){
+		return (root,cq,cb) -> {
+			if (late==null) return cb.conjunction();
+			Path<LocalDate> shipped = root.get("shippedDate");
+			Path<LocalDate> required = root.get("requiredDate");
+			Predicate isLate = cb.or(
+					cb.and(cb.isNotNull(shipped), cb.isNotNull(required), cb.greaterThan(shipped, required)),
+					cb.and(cb.isNull(shipped), cb.isNotNull(required), cb.lessThan(required, cb.localDate())));
+			return late ? isLate : cb.not(isLate);
+		};
+	}
 }
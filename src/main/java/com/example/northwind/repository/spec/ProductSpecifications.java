@@ -1,14 +1,47 @@
 package com.example.northwind.repository.spec;
 
 import com.example.northwind.entity.Product;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public class ProductSpecifications {
 	public static Specification<Product> nameContains(String q) {
 		return (root, cq, cb) -> q == null ? cb.conjunction() : cb.like(cb.lower(root.get("name")), "%" + q.toLowerCase() + "%");
 	}
+
+	/** Substring match over name, description and detailed description, each backed by a pg_trgm GIN index on {@code lower(column)}. */
+	public static Specification<Product> search(String q) {
+		return (root, cq, cb) -> {
+			if (q == null || q.isBlank()) return cb.conjunction();
+			String pattern = "%" + q.trim().toLowerCase() + "%";
+			return cb.or(cb.like(cb.lower(root.get("name")), pattern),
+					cb.like(cb.lower(root.get("description")), pattern),
+					cb.like(cb.lower(root.get("detailedDescription")), pattern));
+		};
+	}
+
+	/** Relevance ordering for {@link #search}: name matches weigh double, the id breaks ties. Empty without a term. */
+	public static List<Order> relevance(String q, Root<Product> root, CriteriaBuilder cb) {
+		if (q == null || q.isBlank()) return List.of();
+		String term = q.trim().toLowerCase();
+		Expression<Double> rank = cb.sum(
+				cb.prod(2.0, wordSimilarity(cb, term, cb.lower(root.get("name")))),
+				cb.sum(wordSimilarity(cb, term, cb.lower(root.get("description"))), wordSimilarity(cb, term, cb.lower(root.get("detailedDescription")))));
+		return List.of(cb.desc(rank), cb.asc(root.get("id")));
+	}
+
+	private static Expression<Double> wordSimilarity(CriteriaBuilder cb, String term, Expression<String> column) {
+		return cb.function("word_similarity", Double.class, cb.literal(term), cb.coalesce(column, ""));
+	}
+
 	public static Specification<Product> categoryId(Integer id) {
 		return (root, cq, cb) -> id == null ? cb.conjunction() : cb.equal(root.get("categoryId"), id);
 	}
@@ -24,14 +57,32 @@ public class ProductSpecifications {
 	public static Specification<Product> discontinued(Boolean d) {
 		return (root, cq, cb) -> d == null ? cb.conjunction() : cb.equal(root.get("discontinued"), d);
 	}
+	/** Products offering the given colour, via jsonb containment so the GIN index on variants applies. */
+	public static Specification<Product> variantColor(String color) {
+		return variantContains("colors", color);
+	}
+	public static Specification<Product> variantSize(String size) {
+		return variantContains("sizes", size);
+	}
+	private static Specification<Product> variantContains(String field, String value) {
+		return (root, cq, cb) -> {
+			if (value == null) return cb.conjunction();
+			ObjectNode probe = JsonNodeFactory.instance.objectNode();
+			probe.putArray(field).add(value);
+			return cb.isTrue(cb.function("jsonb_contains", Boolean.class, root.get("variants"), cb.literal(probe.toString())));
+		};
+	}
 	
 	public static Specification<Product> buildSpecification(String q, Integer categoryId, Integer supplierId,
-														   BigDecimal minPrice, BigDecimal maxPrice, Boolean discontinued) {
-		return Specification.where(nameContains(q))
+														   BigDecimal minPrice, BigDecimal maxPrice, Boolean discontinued,
+														   String color, String size) {
+		return Specification.where(search(q))
 				.and(categoryId(categoryId))
 				.and(supplierId(supplierId))
 				.and(priceGte(minPrice))
 				.and(priceLte(maxPrice))
-				.and(discontinued(discontinued));
+				.and(discontinued(discontinued))
+				.and(variantColor(color))
+				.and(variantSize(size));
 	}
 }
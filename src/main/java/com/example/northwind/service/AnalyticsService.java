@@ -0,0 +1,148 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.RevenueSeries;
+import com.example.northwind.dto.SalesRollupRow;
+import com.example.northwind.dto.TopProductDto;
+import com.example.northwind.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Dashboard reads over precomputed rollups and in-memory trackers; none of these touch orders or order_details. */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+	private static final Map<String, String> PERIODS = Map.of(
+			"day", "sales_date",
+			"month", "date_trunc('month', sales_date)::date");
+	private static final Map<String, String> DIMENSIONS = Map.of(
+			"category", "category_id::text",
+			"employee", "employee_id::text",
+			"country", "customer_country");
+
+	private static final Map<String, String> BUCKETS = Map.of("day", "day", "week", "week", "month", "month");
+	static final int MAX_POINTS = 5_000;
+
+	// Gap-filled series: every bucket between the bounds appears, so downsampling can merge fixed-size runs.
+	// Bounds are clamped to the rollup's own date range; the first bucket is truncated but rows before `from` are not counted.
+	private static final String REVENUE_SQL =
+			"WITH bounds AS (SELECT greatest(?::date, min(sales_date)) AS first_day, least(?::date, max(sales_date)) AS last_day FROM sales_daily_rollup), " +
+			"totals AS (SELECT date_trunc('%1$s', r.sales_date)::date AS period, sum(r.revenue) AS revenue, sum(r.quantity) AS quantity " +
+			"FROM sales_daily_rollup r, bounds b WHERE r.sales_date BETWEEN b.first_day AND b.last_day GROUP BY 1) " +
+			"SELECT g::date AS period, coalesce(t.revenue, 0) AS revenue, coalesce(t.quantity, 0) AS quantity " +
+			"FROM bounds b, generate_series(date_trunc('%1$s', b.first_day), b.last_day, interval '1 %1$s') g " +
+			"LEFT JOIN totals t ON t.period = g::date ORDER BY 1";
+
+	private static final Pattern WINDOW = Pattern.compile("(\\d{1,3})d");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TopProductsTracker topProductsTracker;
+
+	/**
+	 * Revenue, quantity and order count from sales_daily_rollup, optionally bucketed by {@code period}
+	 * (day, month) and split by {@code by} (category, employee, country). Unless the result is split or filtered
+	 * by category, order counts come from sales_daily_orders, since an order spanning several categories has a
+	 * row in each of them.
+	 */
+	public List<SalesRollupRow> sales(LocalDate from, LocalDate to, String period, String by,
+									  Integer categoryId, Integer employeeId, String country) {
+		String periodExpr = period == null ? "NULL::date" : expression(PERIODS, period, "period");
+		String keyExpr = by == null ? "NULL::text" : expression(DIMENSIONS, by, "by");
+		boolean perCategory = "category".equals(by) || categoryId != null;
+		String select = "SELECT " + periodExpr + " AS period, " + keyExpr + " AS key, ";
+
+		List<Object> args = new ArrayList<>();
+		StringBuilder sql = new StringBuilder(select)
+				.append("sum(revenue) AS revenue, sum(quantity) AS quantity, sum(order_count) AS order_count ")
+				.append("FROM sales_daily_rollup WHERE true");
+		appendFilters(sql, args, from, to, categoryId, employeeId, country);
+		sql.append(" GROUP BY 1, 2");
+		if (!perCategory) {
+			sql.insert(0, "SELECT r.period, r.key, r.revenue, r.quantity, coalesce(o.order_count, 0) AS order_count FROM (")
+					.append(") r LEFT JOIN (").append(select)
+					.append("sum(order_count) AS order_count FROM sales_daily_orders WHERE true");
+			appendFilters(sql, args, from, to, null, employeeId, country);
+			sql.append(" GROUP BY 1, 2) o ON o.period IS NOT DISTINCT FROM r.period AND o.key IS NOT DISTINCT FROM r.key");
+		}
+		sql.append(" ORDER BY 1, 2");
+
+		return jdbcTemplate.query(sql.toString(), (rs, i) -> {
+			SalesRollupRow row = new SalesRollupRow();
+			row.period = rs.getObject("period", LocalDate.class);
+			row.key = rs.getString("key");
+			row.revenue = rs.getBigDecimal("revenue");
+			row.quantity = rs.getLong("quantity");
+			row.orderCount = rs.getLong("order_count");
+			return row;
+		}, args.toArray());
+	}
+
+	private static void appendFilters(StringBuilder sql, List<Object> args, LocalDate from, LocalDate to,
+									  Integer categoryId, Integer employeeId, String country) {
+		if (from != null) { sql.append(" AND sales_date >= ?"); args.add(from); }
+		if (to != null) { sql.append(" AND sales_date <= ?"); args.add(to); }
+		if (categoryId != null) { sql.append(" AND category_id = ?"); args.add(categoryId); }
+		if (employeeId != null) { sql.append(" AND employee_id = ?"); args.add(employeeId); }
+		if (country != null) { sql.append(" AND customer_country = ?"); args.add(country); }
+	}
+
+	/**
+	 * Revenue per day, week or month from sales_daily_rollup in one query, missing buckets as zero. Series longer
+	 * than {@code maxPoints} are downsampled by summing runs of consecutive buckets, which keeps the overall total.
+	 */
+	public RevenueSeries revenue(LocalDate from, LocalDate to, String bucket, int maxPoints) {
+		String unit = expression(BUCKETS, bucket, "bucket");
+		if (maxPoints < 1 || maxPoints > MAX_POINTS) throw new BadRequestException("maxPoints must be between 1 and " + MAX_POINTS);
+		if (from != null && to != null && from.isAfter(to)) throw new BadRequestException("from must not be after to");
+
+		List<RevenueSeries.Point> buckets = jdbcTemplate.query(REVENUE_SQL.formatted(unit), (rs, i) -> {
+			RevenueSeries.Point p = new RevenueSeries.Point();
+			p.period = rs.getObject("period", LocalDate.class);
+			p.revenue = rs.getBigDecimal("revenue");
+			p.quantity = rs.getLong("quantity");
+			return p;
+		}, from, to);
+
+		RevenueSeries series = new RevenueSeries();
+		series.bucket = unit;
+		series.bucketsPerPoint = Math.max(1, (buckets.size() + maxPoints - 1) / maxPoints);
+		if (series.bucketsPerPoint == 1) {
+			series.points = buckets;
+			return series;
+		}
+		for (int i = 0; i < buckets.size(); i += series.bucketsPerPoint) {
+			RevenueSeries.Point merged = buckets.get(i);
+			for (RevenueSeries.Point p : buckets.subList(i + 1, Math.min(i + series.bucketsPerPoint, buckets.size()))) {
+				merged.revenue = merged.revenue.add(p.revenue);
+				merged.quantity += p.quantity;
+			}
+			series.points.add(merged);
+		}
+		return series;
+	}
+
+	/** Best sellers from the in-memory tracker; {@code window} is a day count such as {@code 7d}. */
+	public List<TopProductDto> topProducts(String window, String by, int limit) {
+		Matcher m = WINDOW.matcher(window);
+		int windowDays = m.matches() ? Integer.parseInt(m.group(1)) : 0;
+		if (windowDays < 1 || windowDays > TopProductsTracker.MAX_WINDOW_DAYS) {
+			throw new BadRequestException("window must be between 1d and " + TopProductsTracker.MAX_WINDOW_DAYS + "d");
+		}
+		if (!"revenue".equals(by) && !"quantity".equals(by)) throw new BadRequestException("by must be revenue or quantity");
+		if (limit < 1 || limit > 100) throw new BadRequestException("limit must be between 1 and 100");
+		return topProductsTracker.top(windowDays, "quantity".equals(by), limit);
+	}
+
+	private static String expression(Map<String, String> allowed, String value, String param) {
+		String expr = allowed.get(value);
+		if (expr == null) throw new BadRequestException(param + " must be one of " + allowed.keySet());
+		return expr;
+	}
+}
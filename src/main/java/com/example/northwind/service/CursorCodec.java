@@ -0,0 +1,95 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.CursorPage;
+import com.example.northwind.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes keyset scroll positions as opaque, URL-safe cursor tokens. A token is the base64 of the
+ * JSON key map (sort properties plus primary key) of the last row returned; decoding converts each
+ * value back to the attribute type of the entity so the seek predicate binds correctly.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+	private static final TypeReference<LinkedHashMap<String, Object>> KEYS = new TypeReference<>() {};
+
+	private final ObjectMapper objectMapper;
+
+	public KeysetScrollPosition decode(String cursor, Class<?> entityType) {
+		if (cursor == null || cursor.isBlank()) return ScrollPosition.keyset();
+		try {
+			Map<String, Object> raw = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), KEYS);
+			Map<String, Object> keys = new LinkedHashMap<>();
+			raw.forEach((property, value) -> {
+				Class<?> type = PropertyPath.from(property, entityType).getLeafProperty().getType();
+				keys.put(property, value == null ? null : objectMapper.convertValue(value, type));
+			});
+			return ScrollPosition.forward(keys);
+		} catch (Exception e) {
+			throw new BadRequestException("Invalid cursor", e);
+		}
+	}
+
+	/**
+	 * Rejects sort properties that may be null: the keyset seek compares with {@code >}/{@code <}, so rows with
+	 * a null key would silently fall out of every page. Only ids and non-nullable columns qualify.
+	 */
+	public void requireNonNullSort(Sort sort, Class<?> entityType) {
+		for (Sort.Order order : sort) {
+			PropertyPath leaf;
+			try {
+				leaf = PropertyPath.from(order.getProperty(), entityType).getLeafProperty();
+			} catch (PropertyReferenceException e) {
+				throw new BadRequestException("Unknown sort property " + order.getProperty(), e);
+			}
+			Field field = ReflectionUtils.findField(leaf.getOwningType().getType(), leaf.getSegment());
+			if (field == null || !isNonNull(field)) {
+				throw new BadRequestException("sort=" + order.getProperty() + " is not supported with after=: keyset paging needs a non-null sort key");
+			}
+		}
+	}
+
+	private static boolean isNonNull(Field field) {
+		if (field.getType().isPrimitive() || field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) return true;
+		Column column = field.getAnnotation(Column.class);
+		Basic basic = field.getAnnotation(Basic.class);
+		return (column != null && !column.nullable()) || (basic != null && !basic.optional());
+	}
+
+	public String encode(ScrollPosition position) {
+		if (!(position instanceof KeysetScrollPosition keyset)) {
+			throw new IllegalArgumentException("Only keyset positions can be encoded");
+		}
+		try {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(keyset.getKeys()));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not encode cursor", e);
+		}
+	}
+
+	public <T> CursorPage<T> toPage(Window<T> window) {
+		String next = window.hasNext() && !window.isEmpty() ? encode(window.positionAt(window.size() - 1)) : null;
+		return new CursorPage<>(window.getContent(), next);
+	}
+}
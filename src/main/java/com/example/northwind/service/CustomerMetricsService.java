@@ -0,0 +1,228 @@
+package com.example.northwind.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds customer_metrics (lifetime value and RFM quintile scores). Orders are streamed in
+ * (customer_id, order_date) order through a server-side cursor and cut into partitions of whole customers;
+ * each partition is aggregated on a small dedicated pool while the scan continues, then scores are assigned
+ * from the global distributions and the table is replaced in one transaction. The pool's queue is bounded
+ * and a partition drops its rows once aggregated, so at most a few partitions of raw rows are held at a time.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerMetricsService {
+	static final int PARTITION_CUSTOMERS = 500;
+	private static final int FETCH_SIZE = 5_000;
+	private static final int AGGREGATOR_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+	private static final String SCAN_SQL =
+			"SELECT customer_id, order_date, order_total FROM orders WHERE customer_id IS NOT NULL ORDER BY customer_id, order_date";
+	private static final String INSERT_SQL =
+			"INSERT INTO customer_metrics (customer_id, order_count, lifetime_value, average_order_value, first_order_date, last_order_date, " +
+			"recency_days, recency_score, frequency_score, monetary_score, rfm_segment, as_of_date, computed_at) " +
+			"VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now())";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	/** When the queue is full the scanning thread aggregates the partition itself, which throttles the scan. */
+	private final ExecutorService aggregator = new ThreadPoolExecutor(AGGREGATOR_THREADS, AGGREGATOR_THREADS, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(AGGREGATOR_THREADS), Thread.ofPlatform().name("customer-metrics-", 0).daemon().factory(),
+			new ThreadPoolExecutor.CallerRunsPolicy());
+
+	@PreDestroy
+	void shutdown() {
+		aggregator.shutdownNow();
+	}
+
+	@Scheduled(cron = "${northwind.analytics.customer-metrics.cron:0 30 2 * * *}")
+	public void scheduledRefresh() {
+		refresh();
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	public synchronized Map<String, Object> refresh() {
+		long started = System.nanoTime();
+		List<Future<List<Aggregate>>> tasks = new ArrayList<>();
+		long[] orders = {0};
+
+		transactionTemplate.execute(status -> {
+			Partition[] current = {new Partition()};
+			jdbcTemplate.query(connection -> {
+				PreparedStatement ps = connection.prepareStatement(SCAN_SQL);
+				ps.setFetchSize(FETCH_SIZE);
+				return ps;
+			}, (RowCallbackHandler) rs -> {
+				String customerId = rs.getString(1);
+				if (current[0].isFullBefore(customerId)) {
+					tasks.add(aggregator.submit(current[0]::aggregate));
+					current[0] = new Partition();
+				}
+				current[0].add(customerId, rs.getObject(2, LocalDate.class), rs.getBigDecimal(3));
+				orders[0]++;
+			});
+			if (!current[0].isEmpty()) tasks.add(aggregator.submit(current[0]::aggregate));
+			return null;
+		});
+
+		List<Aggregate> aggregates = new ArrayList<>();
+		for (Future<List<Aggregate>> task : tasks) {
+			aggregates.addAll(join(task));
+		}
+		LocalDate asOf = score(aggregates);
+		write(aggregates, asOf);
+
+		return Map.of(
+				"customers", aggregates.size(),
+				"orders", orders[0],
+				"partitions", tasks.size(),
+				"millis", (System.nanoTime() - started) / 1_000_000);
+	}
+
+	private static List<Aggregate> join(Future<List<Aggregate>> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Customer metrics refresh interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Customer metrics aggregation failed", e.getCause());
+		}
+	}
+
+	/** Quintile scores against the whole population; returns the as-of date used for recency. */
+	private static LocalDate score(List<Aggregate> aggregates) {
+		LocalDate asOf = aggregates.stream().map(a -> a.last).filter(d -> d != null).max(LocalDate::compareTo).orElse(null);
+		aggregates.forEach(a -> a.recencyDays = asOf != null && a.last != null ? (int) ChronoUnit.DAYS.between(a.last, asOf) : null);
+
+		long[] recency = aggregates.stream().filter(a -> a.recencyDays != null).mapToLong(a -> a.recencyDays).toArray();
+		long[] frequency = aggregates.stream().mapToLong(a -> a.orders).toArray();
+		long[] monetary = aggregates.stream().mapToLong(a -> cents(a.value)).toArray();
+		Arrays.sort(recency);
+		Arrays.sort(frequency);
+		Arrays.sort(monetary);
+
+		aggregates.forEach(a -> {
+			a.recencyScore = a.recencyDays != null ? (short) (6 - quintile(recency, a.recencyDays)) : 1;
+			a.frequencyScore = quintile(frequency, a.orders);
+			a.monetaryScore = quintile(monetary, cents(a.value));
+		});
+		return asOf;
+	}
+
+	private void write(List<Aggregate> aggregates, LocalDate asOf) {
+		Date asOfDate = asOf != null ? Date.valueOf(asOf) : null;
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("DELETE FROM customer_metrics");
+			jdbcTemplate.batchUpdate(INSERT_SQL, aggregates, 1_000, (ps, a) -> {
+				ps.setString(1, a.customerId);
+				ps.setInt(2, a.orders);
+				ps.setBigDecimal(3, a.value.setScale(2, RoundingMode.HALF_UP));
+				ps.setBigDecimal(4, a.value.divide(BigDecimal.valueOf(a.orders), 2, RoundingMode.HALF_UP));
+				ps.setObject(5, a.first);
+				ps.setObject(6, a.last);
+				ps.setObject(7, a.recencyDays);
+				ps.setShort(8, a.recencyScore);
+				ps.setShort(9, a.frequencyScore);
+				ps.setShort(10, a.monetaryScore);
+				ps.setString(11, "" + a.recencyScore + a.frequencyScore + a.monetaryScore);
+				ps.setDate(12, asOfDate);
+			});
+		});
+	}
+
+	/** 1-5 by position of the first occurrence of {@code value} in {@code sorted}, so ties share a score. */
+	static short quintile(long[] sorted, long value) {
+		int lo = 0, hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < value) lo = mid + 1; else hi = mid;
+		}
+		return (short) (1 + lo * 5L / sorted.length);
+	}
+
+	private static long cents(BigDecimal value) {
+		return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+	}
+
+	/** Contiguous rows for up to {@link #PARTITION_CUSTOMERS} customers; never splits a customer. */
+	private static final class Partition {
+		private final List<String> customerIds = new ArrayList<>();
+		private final List<LocalDate> dates = new ArrayList<>();
+		private final List<BigDecimal> totals = new ArrayList<>();
+		private String lastCustomer;
+		private int customers;
+
+		boolean isEmpty() { return customerIds.isEmpty(); }
+
+		boolean isFullBefore(String customerId) {
+			return customers == PARTITION_CUSTOMERS && !customerId.equals(lastCustomer);
+		}
+
+		void add(String customerId, LocalDate date, BigDecimal total) {
+			if (!customerId.equals(lastCustomer)) { customers++; lastCustomer = customerId; }
+			customerIds.add(customerId);
+			dates.add(date);
+			totals.add(total != null ? total : BigDecimal.ZERO);
+		}
+
+		/** Aggregates per customer and releases the raw rows. */
+		List<Aggregate> aggregate() {
+			List<Aggregate> result = new ArrayList<>(customers);
+			Aggregate a = null;
+			for (int i = 0; i < customerIds.size(); i++) {
+				String id = customerIds.get(i);
+				if (a == null || !a.customerId.equals(id)) { a = new Aggregate(id); result.add(a); }
+				LocalDate date = dates.get(i);
+				a.orders++;
+				a.value = a.value.add(totals.get(i));
+				if (date != null) {
+					if (a.first == null || date.isBefore(a.first)) a.first = date;
+					if (a.last == null || date.isAfter(a.last)) a.last = date;
+				}
+			}
+			customerIds.clear();
+			dates.clear();
+			totals.clear();
+			return result;
+		}
+	}
+
+	private static final class Aggregate {
+		final String customerId;
+		int orders;
+		BigDecimal value = BigDecimal.ZERO;
+		LocalDate first;
+		LocalDate last;
+		Integer recencyDays;
+		short recencyScore;
+		short frequencyScore;
+		short monetaryScore;
+
+		Aggregate(String customerId) { this.customerId = customerId; }
+	}
+}
@@ -1,6 +1,8 @@
 package com.example.northwind.service;
 
 import com.example.northwind.entity.Customer;
+import com.example.northwind.entity.CustomerMetrics;
+import com.example.northwind.repository.CustomerMetricsRepository;
 import com.example.northwind.repository.CustomerRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -13,10 +15,16 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CustomerService {
 	private final CustomerRepository repository;
+	private final CustomerMetricsRepository metricsRepository;
 
 	public Page<Customer> list(Pageable pageable) { return repository.findAll(pageable); }
 	public Customer get(String id) { return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Customer not found")); }
 
+	public CustomerMetrics metrics(String id) { return metricsRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("No metrics for customer")); }
+	public Page<CustomerMetrics> metrics(String segment, Pageable pageable) {
+		return segment == null ? metricsRepository.findAll(pageable) : metricsRepository.findByRfmSegment(segment, pageable);
+	}
+
 	@PreAuthorize("hasAnyRole('STAFF','ADMIN')")
 	public Customer create(Customer c) { return repository.save(c); }
 	@PreAuthorize("hasAnyRole('STAFF','ADMIN')")
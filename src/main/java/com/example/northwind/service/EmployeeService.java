@@ -1,6 +1,9 @@
 package com.example.northwind.service;
 
+import com.example.northwind.dto.EmployeePerformanceDto;
 import com.example.northwind.entity.Employee;
+import com.example.northwind.exception.BadRequestException;
+import com.example.northwind.repository.EmployeeMonthlyStatsRepository;
 import com.example.northwind.repository.EmployeeRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +12,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
+	private static final YearMonth EARLIEST = YearMonth.of(1900, 1);
+	private static final YearMonth LATEST = YearMonth.of(9999, 12);
+
 	private final EmployeeRepository repository;
+	private final EmployeeMonthlyStatsRepository statsRepository;
 
 	public Page<Employee> list(Pageable pageable) { return repository.findAll(pageable); }
 	public Employee get(Integer id) { return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Employee not found")); }
@@ -23,4 +34,36 @@ public class EmployeeService {
 	public Employee update(Integer id, Employee e) { Employee existing = get(id); e.setId(existing.getId()); return repository.save(e); }
 	@PreAuthorize("hasRole('ADMIN')")
 	public void delete(Integer id) { repository.deleteById(id); }
+
+	/** Per-employee totals over the months {@code from}..{@code to} (inclusive, open-ended when null), best revenue first. */
+	public List<EmployeePerformanceDto> performance(YearMonth from, YearMonth to) {
+		return statsRepository.summarize(start(from), end(from, to)).stream().map(v -> {
+			EmployeePerformanceDto dto = EmployeePerformanceDto.of(v.getOrderCount(), v.getRevenue(), v.getShippedCount(), v.getShipDelayDays());
+			dto.employeeId = v.getEmployeeId();
+			dto.firstName = v.getFirstName();
+			dto.lastName = v.getLastName();
+			return dto;
+		}).toList();
+	}
+
+	/** Month-by-month series for one employee; months without orders are omitted. */
+	public List<EmployeePerformanceDto> performance(Integer id, YearMonth from, YearMonth to) {
+		if (!repository.existsById(id)) throw new EntityNotFoundException("Employee not found");
+		return statsRepository.findByIdEmployeeIdAndIdMonthBetweenOrderByIdMonth(id, start(from), end(from, to)).stream()
+				.filter(s -> s.getOrderCount() > 0)
+				.map(s -> {
+					EmployeePerformanceDto dto = EmployeePerformanceDto.of(s.getOrderCount(), s.getRevenue(), s.getShippedCount(), s.getShipDelayDays());
+					dto.month = YearMonth.from(s.getId().getMonth());
+					return dto;
+				}).toList();
+	}
+
+	private static LocalDate start(YearMonth from) {
+		return (from != null ? from : EARLIEST).atDay(1);
+	}
+
+	private static LocalDate end(YearMonth from, YearMonth to) {
+		if (from != null && to != null && to.isBefore(from)) throw new BadRequestException("to must not be before from");
+		return (to != null ? to : LATEST).atDay(1);
+	}
 }
@@ -49,12 +49,10 @@ public class OrderDetailService {
 	}
 
 	public BigDecimal summaryTotal(Integer orderId) {
-		return list(orderId).stream()
-			.map(od -> od.getUnitPrice().multiply(BigDecimal.valueOf(od.getQuantity())).multiply(BigDecimal.valueOf(1 - od.getDiscount())))
-			.reduce(BigDecimal.ZERO, BigDecimal::add);
+		return orderRepo.findOrderTotal(orderId).orElseThrow(() -> new EntityNotFoundException("Order not found"));
 	}
 
 	public BigDecimal sumTotalByCustomerAndDate(String customerId, java.time.LocalDate from, java.time.LocalDate to) {
-		return detailRepo.sumTotalByCustomerAndDate(customerId, from, to);
+		return orderRepo.sumOrderTotals(customerId, from, to);
 	}
 }
@@ -0,0 +1,225 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.OrderDetailCreateDto;
+import com.example.northwind.dto.OrderImportRecord;
+import com.example.northwind.dto.OrderImportReport;
+import com.example.northwind.entity.OrderLinesChangedEvent;
+import com.example.northwind.exception.BadRequestException;
+import com.example.northwind.exception.OrderImportException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Streams NDJSON order records (one order with its lines per line) into orders/order_details via COPY.
+ * Records are read lazily and loaded in chunks of {@value #CHUNK_SIZE} orders, one transaction per chunk:
+ * foreign keys are checked with one {@code ANY()} query per referenced table, then both tables are COPYed.
+ * A failing chunk rolls back alone; chunks before it stay committed and are reported in the
+ * OrderImportException, so a retry with {@code skipExisting} resumes where the import stopped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderImportService {
+	static final int CHUNK_SIZE = 5_000;
+	/**
+	 * Imported ids are explicit, while POST /api/orders draws from the orders identity (V18); moving the sequence
+	 * past every stored id keeps the two from colliding. Never moves it backwards past ids already handed out.
+	 */
+	private static final String ADVANCE_SEQUENCE_SQL =
+			"SELECT setval(pg_get_serial_sequence('orders', 'order_id'), " +
+			"greatest((SELECT max(order_id) FROM orders), (SELECT last_value FROM orders_order_id_seq)))";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final DataSource dataSource;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher publisher;
+
+	@PreAuthorize("hasRole('ADMIN')")
+	public OrderImportReport importNdjson(InputStream in, boolean skipExisting) throws IOException {
+		OrderImportReport report = new OrderImportReport();
+		long started = System.nanoTime();
+		long line = 0;
+		long committed = 0;
+		List<OrderImportRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+		try (MappingIterator<OrderImportRecord> records = objectMapper.readerFor(OrderImportRecord.class).readValues(in)) {
+			while (true) {
+				OrderImportRecord record;
+				try {
+					if (!records.hasNextValue()) break;
+					record = records.nextValue();
+				} catch (JsonProcessingException e) {
+					throw new BadRequestException("Record " + (line + 1) + ": " + e.getOriginalMessage(), e);
+				}
+				line++;
+				validateRecord(record, line);
+				chunk.add(record);
+				if (chunk.size() == CHUNK_SIZE) {
+					loadChunk(chunk, report, line - chunk.size() + 1, skipExisting);
+					committed = line;
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) loadChunk(chunk, report, line - chunk.size() + 1, skipExisting);
+		} catch (RuntimeException e) {
+			report.failedAtRecord = committed + 1;
+			report.error = e.getMessage();
+			report.millis = (System.nanoTime() - started) / 1_000_000;
+			log.warn("Order import stopped at record {} after {} committed orders: {}", report.failedAtRecord, report.orders, e.getMessage());
+			throw new OrderImportException(report, e);
+		}
+		report.millis = (System.nanoTime() - started) / 1_000_000;
+		return report;
+	}
+
+	private static void validateRecord(OrderImportRecord record, long line) {
+		if (record.orderId == null) throw new BadRequestException("Record " + line + ": orderId is required");
+		if (record.orderId < 1) throw new BadRequestException("Record " + line + ": orderId must be positive");
+		if (record.details == null) return;
+		Set<Integer> products = new HashSet<>();
+		for (OrderDetailCreateDto d : record.details) {
+			if (d == null || d.productId == null || d.unitPrice == null || d.quantity == null || d.quantity <= 0) {
+				throw new BadRequestException("Record " + line + ": each line needs productId, unitPrice and a positive quantity");
+			}
+			if (!products.add(d.productId)) {
+				throw new BadRequestException("Record " + line + ": duplicate line for product " + d.productId);
+			}
+		}
+	}
+
+	private void loadChunk(List<OrderImportRecord> chunk, OrderImportReport report, long firstLine, boolean skipExisting) {
+		long started = System.nanoTime();
+		List<OrderImportRecord> load = transactionTemplate.execute(status -> {
+			List<OrderImportRecord> records = validateReferences(chunk, firstLine, skipExisting);
+			if (records.isEmpty()) return records;
+			try {
+				Connection connection = DataSourceUtils.getConnection(dataSource);
+				var copy = connection.unwrap(PGConnection.class).getCopyAPI();
+				copy.copyIn("COPY orders (order_id, customer_id, employee_id, order_date, required_date, shipped_date) FROM STDIN WITH (FORMAT csv)",
+						new StringReader(ordersCsv(records)));
+				StringBuilder details = new StringBuilder();
+				if (detailsCsv(records, details) > 0) {
+					copy.copyIn("COPY order_details (order_id, product_id, unit_price, quantity, discount) FROM STDIN WITH (FORMAT csv)",
+							new StringReader(details.toString()));
+					records.stream().filter(r -> r.details != null && !r.details.isEmpty())
+							.forEach(r -> publisher.publishEvent(new OrderLinesChangedEvent(r.orderId)));
+				}
+				jdbcTemplate.queryForObject(ADVANCE_SEQUENCE_SQL, Long.class);
+				return records;
+			} catch (SQLException | IOException e) {
+				throw new IllegalStateException("COPY failed for records starting at " + firstLine + ": " + e.getMessage(), e);
+			}
+		});
+
+		OrderImportReport.Chunk stats = new OrderImportReport.Chunk();
+		stats.chunk = report.chunks.size() + 1;
+		stats.orders = load.size();
+		stats.lines = load.stream().mapToInt(r -> r.details == null ? 0 : r.details.size()).sum();
+		stats.skipped = chunk.size() - load.size();
+		stats.millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+		stats.rowsPerSecond = (stats.orders + stats.lines) * 1000L / stats.millis;
+		report.chunks.add(stats);
+		report.orders += stats.orders;
+		report.lines += stats.lines;
+		report.skipped += stats.skipped;
+		if (!load.isEmpty()) report.lastCommittedOrderId = load.get(load.size() - 1).orderId;
+		log.info("Order import chunk {}: {} orders, {} lines, {} skipped in {} ms ({} rows/s)", stats.chunk, stats.orders, stats.lines, stats.skipped, stats.millis, stats.rowsPerSecond);
+	}
+
+	/**
+	 * One lookup per referenced table for the whole chunk; reports every missing key at once. Returns the
+	 * records to load: all of them, or with skipExisting those whose orderId is not in the table yet.
+	 */
+	private List<OrderImportRecord> validateReferences(List<OrderImportRecord> chunk, long firstLine, boolean skipExisting) {
+		Set<Integer> orderIds = new HashSet<>();
+		for (int i = 0; i < chunk.size(); i++) {
+			OrderImportRecord r = chunk.get(i);
+			if (!orderIds.add(r.orderId)) throw new BadRequestException("Record " + (firstLine + i) + ": duplicate orderId " + r.orderId);
+		}
+		Set<Integer> existing = new HashSet<>(jdbcTemplate.queryForList("SELECT order_id::int FROM orders WHERE order_id = ANY(?)", Integer.class, (Object) orderIds.toArray(Integer[]::new)));
+		if (!existing.isEmpty() && !skipExisting) throw new BadRequestException("Orders already exist: " + existing);
+		List<OrderImportRecord> records = existing.isEmpty() ? chunk : chunk.stream().filter(r -> !existing.contains(r.orderId)).toList();
+
+		Set<String> customerIds = new HashSet<>();
+		Set<Integer> employeeIds = new HashSet<>();
+		Set<Integer> productIds = new HashSet<>();
+		for (OrderImportRecord r : records) {
+			if (r.customerId != null) customerIds.add(r.customerId);
+			if (r.employeeId != null) employeeIds.add(r.employeeId);
+			if (r.details != null) r.details.forEach(d -> productIds.add(d.productId));
+		}
+		requireAll("customers", "customer_id", customerIds, String[]::new, String.class);
+		requireAll("employees", "employee_id", employeeIds, Integer[]::new, Integer.class);
+		requireAll("products", "product_id", productIds, Integer[]::new, Integer.class);
+		return records;
+	}
+
+	private <T> void requireAll(String table, String column, Set<T> ids, IntFunction<T[]> array, Class<T> type) {
+		if (ids.isEmpty()) return;
+		String cast = type == Integer.class ? "::int" : "";
+		List<T> found = jdbcTemplate.queryForList("SELECT " + column + cast + " FROM " + table + " WHERE " + column + " = ANY(?)", type, (Object) ids.toArray(array));
+		Set<T> missing = new HashSet<>(ids);
+		found.forEach(missing::remove);
+		if (!missing.isEmpty()) throw new BadRequestException("Unknown " + column + " values: " + missing);
+	}
+
+	private static String ordersCsv(List<OrderImportRecord> chunk) {
+		StringBuilder csv = new StringBuilder(chunk.size() * 48);
+		for (OrderImportRecord r : chunk) {
+			csv.append(r.orderId).append(',')
+					.append(quote(r.customerId)).append(',')
+					.append(value(r.employeeId)).append(',')
+					.append(value(r.orderDate)).append(',')
+					.append(value(r.requiredDate)).append(',')
+					.append(value(r.shippedDate)).append('\n');
+		}
+		return csv.toString();
+	}
+
+	private static int detailsCsv(List<OrderImportRecord> chunk, StringBuilder csv) {
+		int count = 0;
+		for (OrderImportRecord r : chunk) {
+			if (r.details == null) continue;
+			for (OrderDetailCreateDto d : r.details) {
+				csv.append(r.orderId).append(',')
+						.append(d.productId).append(',')
+						.append(d.unitPrice.toPlainString()).append(',')
+						.append(d.quantity).append(',')
+						.append(d.discount != null ? d.discount : 0f).append('\n');
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/** Unquoted empty is NULL in CSV COPY; everything else is quoted with doubled quotes. */
+	private static String quote(String s) {
+		return s == null ? "" : '"' + s.replace("\"", "\"\"") + '"';
+	}
+
+	private static String value(Object o) {
+		return o == null ? "" : o.toString();
+	}
+}
@@ -1,47 +1,181 @@
 package com.example.northwind.service;
 
+import com.example.northwind.dto.CursorPage;
+import com.example.northwind.dto.OrderDetailCreateDto;
+import com.example.northwind.dto.OrderDetailItemDto;
+import com.example.northwind.dto.OrderSummaryDto;
+import com.example.northwind.dto.OrderSummaryRow;
+import com.example.northwind.dto.ShippingStatsDto;
+import com.example.northwind.dto.ShippingStatsView;
+import com.example.northwind.entity.Customer;
+import com.example.northwind.entity.Employee;
 import com.example.northwind.entity.Order;
 import com.example.northwind.entity.OrderDetail;
+import com.example.northwind.entity.OrderDetailId;
+import com.example.northwind.entity.Product;
+import com.example.northwind.exception.BadRequestException;
 import com.example.northwind.repository.OrderRepository;
-import com.example.northwind.repository.OrderDetailRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.jpa.domain.Specification;
 import com.example.northwind.repository.spec.OrderSpecifications;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+	private static final int MAX_BATCH_IDS = 200;
+
 	private final OrderRepository repository;
-	private final OrderDetailRepository detailRepository;
+	private final CursorCodec cursorCodec;
+	@PersistenceContext
+	private EntityManager entityManager;
 
-	public Page<Order> list(String customerId, Integer employeeId, java.time.LocalDate from, java.time.LocalDate to, Pageable pageable) {
-		Specification<Order> spec = Specification.where(OrderSpecifications.customerId(customerId))
+	public Page<Order> list(String customerId, Integer employeeId, java.time.LocalDate from, java.time.LocalDate to,
+							BigDecimal minTotal, BigDecimal maxTotal, Boolean shipped, Boolean late, Pageable pageable) {
+		return repository.findAll(filters(customerId, employeeId, from, to, minTotal, maxTotal, shipped, late), pageable);
+	}
+	/** Keyset variant of {@link #list}: seeks on the requested sort plus order id and skips the count query. */
+	public CursorPage<Order> scroll(String customerId, Integer employeeId, java.time.LocalDate from, java.time.LocalDate to,
+									BigDecimal minTotal, BigDecimal maxTotal, Boolean shipped, Boolean late, String after, Pageable pageable) {
+		cursorCodec.requireNonNullSort(pageable.getSort(), Order.class);
+		KeysetScrollPosition position = cursorCodec.decode(after, Order.class);
+		Window<Order> window = repository.findBy(filters(customerId, employeeId, from, to, minTotal, maxTotal, shipped, late), q -> q
+			.sortBy(pageable.getSort())
+			.limit(pageable.getPageSize())
+			.scroll(position));
+		return cursorCodec.toPage(window);
+	}
+	private Specification<Order> filters(String customerId, Integer employeeId, java.time.LocalDate from, java.time.LocalDate to,
+										 BigDecimal minTotal, BigDecimal maxTotal, Boolean shipped, Boolean late) {
+		return Specification.where(OrderSpecifications.customerId(customerId))
 			.and(OrderSpecifications.employeeId(employeeId))
 			.and(OrderSpecifications.dateFrom(from))
-			.and(OrderSpecifications.dateTo(to));
-		return repository.findAll(spec, pageable);
+			.and(OrderSpecifications.dateTo(to))
+			.and(OrderSpecifications.minTotal(minTotal))
+			.and(OrderSpecifications.maxTotal(maxTotal))
+			.and(OrderSpecifications.shipped(shipped))
+			.and(OrderSpecifications.late(late));
 	}
 	public Order get(Integer id) { return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Order not found")); }
 
 	@PreAuthorize("hasAnyRole('STAFF','ADMIN')")
 	public Order create(Order o) { return repository.save(o); }
+
+	/**
+	 * Inserts the order and its lines in one transaction. Lines are persisted against entity references
+	 * (no product or order lookups) and flushed together, so with hibernate.jdbc.batch_size they go out as one batch.
+	 */
+	@Transactional
+	@PreAuthorize("hasAnyRole('STAFF','ADMIN')")
+	public Order create(Order o, List<OrderDetailCreateDto> lines) {
+		validateLines(lines);
+		if (o.getCustomer() != null) o.setCustomer(entityManager.getReference(Customer.class, o.getCustomer().getId()));
+		if (o.getEmployee() != null) o.setEmployee(entityManager.getReference(Employee.class, o.getEmployee().getId()));
+		Order order = repository.save(o);
+		for (OrderDetailCreateDto line : lines) {
+			OrderDetailId id = new OrderDetailId(); id.setOrderId(order.getId()); id.setProductId(line.productId);
+			OrderDetail d = new OrderDetail();
+			d.setId(id);
+			d.setOrder(order);
+			d.setProduct(entityManager.getReference(Product.class, line.productId));
+			d.setUnitPrice(line.unitPrice);
+			d.setQuantity(line.quantity);
+			d.setDiscount(line.discount != null ? line.discount : 0f);
+			entityManager.persist(d);
+		}
+		entityManager.flush();
+		entityManager.refresh(order);
+		return order;
+	}
+
+	private static void validateLines(List<OrderDetailCreateDto> lines) {
+		Set<Integer> seen = new HashSet<>();
+		for (OrderDetailCreateDto line : lines) {
+			if (line == null || line.productId == null || line.unitPrice == null || line.quantity == null || line.quantity <= 0) {
+				throw new BadRequestException("Each line needs productId, unitPrice and a positive quantity");
+			}
+			if (!seen.add(line.productId)) throw new BadRequestException("Duplicate line for product " + line.productId);
+		}
+	}
 	@PreAuthorize("hasAnyRole('STAFF','ADMIN')")
 	public Order update(Integer id, Order o) { Order existing = get(id); o.setId(existing.getId()); return repository.save(o); }
 	@PreAuthorize("hasRole('ADMIN')")
 	public void delete(Integer id) { repository.deleteById(id); }
 
+	/** Summary from a single join query; the total is the stored orders.order_total, as served by /totals and computeTotal. */
+	public OrderSummaryDto summary(Integer orderId) {
+		List<OrderSummaryRow> rows = repository.findSummaryRows(orderId);
+		if (rows.isEmpty()) throw new EntityNotFoundException("Order not found");
+		OrderSummaryRow header = rows.get(0);
+		OrderSummaryDto dto = new OrderSummaryDto();
+		dto.orderId = header.getOrderId();
+		dto.customerId = header.getCustomerId();
+		dto.employeeId = header.getEmployeeId();
+		dto.orderDate = header.getOrderDate();
+		dto.total = header.getOrderTotal();
+		dto.items = new ArrayList<>(rows.size());
+		for (OrderSummaryRow row : rows) {
+			if (row.getProductId() == null) continue;
+			OrderDetailItemDto item = new OrderDetailItemDto();
+			item.productId = row.getProductId();
+			item.productName = row.getProductName();
+			item.unitPrice = row.getUnitPrice();
+			item.quantity = row.getQuantity();
+			item.discount = row.getDiscount();
+			dto.items.add(item);
+		}
+		return dto;
+	}
+
 	public BigDecimal computeTotal(Integer orderId) {
-		List<OrderDetail> details = detailRepository.findByOrder_Id(orderId);
-		return details.stream()
-			.map(od -> od.getUnitPrice().multiply(BigDecimal.valueOf(od.getQuantity())).multiply(BigDecimal.valueOf(1 - od.getDiscount())))
-			.reduce(BigDecimal.ZERO, BigDecimal::add);
+		return repository.findOrderTotal(orderId).orElseThrow(() -> new EntityNotFoundException("Order not found"));
+	}
+
+	/** Stored totals keyed by order id in request order; unknown ids report zero. */
+	public Map<Integer, BigDecimal> totals(List<Integer> orderIds) {
+		List<Integer> distinct = orderIds.stream().filter(java.util.Objects::nonNull).distinct().toList();
+		if (distinct.size() > MAX_BATCH_IDS) {
+			throw new BadRequestException("At most " + MAX_BATCH_IDS + " ids per request");
+		}
+		Map<Integer, BigDecimal> totals = new LinkedHashMap<>();
+		distinct.forEach(id -> totals.put(id, BigDecimal.ZERO));
+		if (!distinct.isEmpty()) {
+			repository.findOrderTotals(distinct).forEach(t -> totals.put(t.getOrderId(), t.getTotal()));
+		}
+		return totals;
+	}
+
+	/** Backlog counts are current (all orders); on-time figures cover shipped orders placed in the optional date range. */
+	public ShippingStatsDto shippingStats(java.time.LocalDate from, java.time.LocalDate to) {
+		if (from != null && to != null && from.isAfter(to)) throw new BadRequestException("from must not be after to");
+		ShippingStatsView v = repository.findShippingStats(from, to);
+		ShippingStatsDto dto = new ShippingStatsDto();
+		dto.shipped = v.getShipped();
+		dto.shippedOnTime = v.getShippedOnTime();
+		dto.shippedLate = v.getShippedLate();
+		long rated = dto.shippedOnTime + dto.shippedLate;
+		dto.onTimePercent = rated == 0 ? null : BigDecimal.valueOf(dto.shippedOnTime * 100).divide(BigDecimal.valueOf(rated), 1, RoundingMode.HALF_UP);
+		dto.averageShipDays = v.getAverageShipDays() == null ? null : v.getAverageShipDays().setScale(1, RoundingMode.HALF_UP);
+		dto.unshipped = v.getUnshipped();
+		dto.unshippedOverdue = v.getUnshippedOverdue();
+		return dto;
 	}
 }
@@ -0,0 +1,150 @@
+package com.example.northwind.service;
+
+import com.example.northwind.entity.Product;
+import com.example.northwind.entity.ProductChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting in-process cache of catalog products keyed by id. Entries are dropped once
+ * the transaction that raised a {@link ProductChangedEvent} for the id commits; the TTL only bounds
+ * staleness for writes made outside this process.
+ */
+@Component
+public class ProductCache {
+	private final int maxSize;
+	private final long ttlNanos;
+	private final Map<Integer, Entry> entries;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	// Bumped on every invalidation so a load racing with a write never re-populates a stale entry
+	private long generation;
+
+	private record Entry(Product product, long expiresAt) {}
+
+	public ProductCache(@Value("${northwind.cache.products.max-size:1000}") int maxSize,
+						@Value("${northwind.cache.products.ttl:10m}") Duration ttl,
+						MeterRegistry meterRegistry) {
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl.toNanos();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+				if (size() > ProductCache.this.maxSize) { evictions.incrementAndGet(); return true; }
+				return false;
+			}
+		};
+		FunctionCounter.builder("northwind.product.cache.hits", hits, AtomicLong::get).register(meterRegistry);
+		FunctionCounter.builder("northwind.product.cache.misses", misses, AtomicLong::get).register(meterRegistry);
+		FunctionCounter.builder("northwind.product.cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+		Gauge.builder("northwind.product.cache.size", this, ProductCache::size).register(meterRegistry);
+	}
+
+	public Product get(Integer id, Function<Integer, Product> loader) {
+		long observed;
+		synchronized (this) {
+			Product cached = lookup(id);
+			if (cached != null) return cached;
+			observed = generation;
+		}
+		Product loaded = loader.apply(id);
+		synchronized (this) {
+			if (observed == generation) entries.put(id, new Entry(loaded, System.nanoTime() + ttlNanos));
+		}
+		return loaded;
+	}
+
+	/**
+	 * Resolves several ids at once: cached entries are served directly and all misses are handed to
+	 * {@code loader} in a single call. Ids the loader does not return are absent from the result.
+	 */
+	public Map<Integer, Product> getAll(Collection<Integer> ids, Function<Collection<Integer>, List<Product>> loader) {
+		Map<Integer, Product> found = new HashMap<>();
+		List<Integer> missing = new ArrayList<>();
+		long observed;
+		synchronized (this) {
+			for (Integer id : ids) {
+				Product cached = lookup(id);
+				if (cached != null) found.put(id, cached); else missing.add(id);
+			}
+			observed = generation;
+		}
+		if (missing.isEmpty()) return found;
+		List<Product> loaded = loader.apply(missing);
+		long expiresAt = System.nanoTime() + ttlNanos;
+		synchronized (this) {
+			for (Product p : loaded) {
+				found.put(p.getId(), p);
+				if (observed == generation) entries.put(p.getId(), new Entry(p, expiresAt));
+			}
+		}
+		return found;
+	}
+
+	public synchronized Product getIfPresent(Integer id) {
+		return lookup(id);
+	}
+
+	/** Current invalidation generation; read it before loading a product that is later handed to {@link #putIfUnchanged}. */
+	public synchronized long generation() {
+		return generation;
+	}
+
+	/** Caches a product loaded elsewhere unless an invalidation happened since {@code observedGeneration} was read. */
+	public synchronized void putIfUnchanged(Product product, long observedGeneration) {
+		if (observedGeneration == generation) entries.put(product.getId(), new Entry(product, System.nanoTime() + ttlNanos));
+	}
+
+	public synchronized void evict(Integer id) {
+		generation++;
+		entries.remove(id);
+	}
+
+	public synchronized void clear() {
+		generation++;
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public Map<String, Long> stats() {
+		return Map.of("hits", hits.get(), "misses", misses.get(), "evictions", evictions.get(), "size", (long) size());
+	}
+
+	/** After commit, so a concurrent read cannot re-cache the pre-commit row and rolled-back writes evict nothing. */
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		evict(event.productId());
+	}
+
+	private Product lookup(Integer id) {
+		Entry entry = entries.get(id);
+		if (entry == null) { misses.incrementAndGet(); return null; }
+		if (entry.expiresAt() - System.nanoTime() <= 0) {
+			entries.remove(id);
+			evictions.incrementAndGet();
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		return entry.product();
+	}
+}
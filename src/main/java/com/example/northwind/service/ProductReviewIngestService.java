@@ -0,0 +1,94 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.ProductReviewCreateDto;
+import com.example.northwind.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bulk review writes. Each chunk is one {@code INSERT ... SELECT FROM unnest(arrays)} statement, so a
+ * batch of thousands costs a handful of round trips instead of one IDENTITY insert per row, and the
+ * statement-level triggers on product_reviews fold each chunk into product_review_stats in the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductReviewIngestService {
+	static final int MAX_REVIEWS = 10_000;
+	static final int CHUNK_SIZE = 1_000;
+
+	private static final String INSERT_SQL =
+			"INSERT INTO product_reviews (product_id, customer_name, rating, review_text, created_at) " +
+			"SELECT * FROM unnest(?::int[], ?::varchar[], ?::int[], ?::text[], ?::timestamp[])";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Transactional
+	public int ingest(List<ProductReviewCreateDto> reviews) {
+		if (reviews == null || reviews.isEmpty()) return 0;
+		if (reviews.size() > MAX_REVIEWS) throw new BadRequestException("At most " + MAX_REVIEWS + " reviews per request");
+		validate(reviews);
+
+		LocalDateTime now = LocalDateTime.now();
+		int inserted = 0;
+		for (int from = 0; from < reviews.size(); from += CHUNK_SIZE) {
+			List<ProductReviewCreateDto> chunk = reviews.subList(from, Math.min(from + CHUNK_SIZE, reviews.size()));
+			inserted += jdbcTemplate.update(connection -> insertChunk(connection, chunk, now));
+		}
+		return inserted;
+	}
+
+	private void validate(List<ProductReviewCreateDto> reviews) {
+		Set<Integer> productIds = new TreeSet<>();
+		for (int i = 0; i < reviews.size(); i++) {
+			ProductReviewCreateDto review = reviews.get(i);
+			if (review == null || review.productId == null) throw new BadRequestException("Review " + i + ": productId is required");
+			if (review.customerName == null || review.customerName.isBlank() || review.customerName.length() > 100) {
+				throw new BadRequestException("Review " + i + ": customerName must be 1-100 characters");
+			}
+			if (review.rating == null || review.rating < 1 || review.rating > 5) {
+				throw new BadRequestException("Review " + i + ": rating must be between 1 and 5");
+			}
+			productIds.add(review.productId);
+		}
+		List<Integer> known = jdbcTemplate.queryForList(
+				"SELECT product_id FROM products WHERE product_id = ANY(?)", Integer.class,
+				(Object) productIds.toArray(Integer[]::new));
+		known.forEach(productIds::remove);
+		if (!productIds.isEmpty()) throw new BadRequestException("Unknown product ids: " + productIds);
+	}
+
+	private static PreparedStatement insertChunk(Connection connection, List<ProductReviewCreateDto> chunk, LocalDateTime now) throws SQLException {
+		int n = chunk.size();
+		Integer[] productIds = new Integer[n];
+		String[] names = new String[n];
+		Integer[] ratings = new Integer[n];
+		String[] texts = new String[n];
+		Timestamp[] createdAt = new Timestamp[n];
+		for (int i = 0; i < n; i++) {
+			ProductReviewCreateDto review = chunk.get(i);
+			productIds[i] = review.productId;
+			names[i] = review.customerName;
+			ratings[i] = review.rating;
+			texts[i] = review.reviewText;
+			createdAt[i] = Timestamp.valueOf(review.createdAt != null ? review.createdAt : now);
+		}
+		PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+		ps.setArray(1, connection.createArrayOf("int4", productIds));
+		ps.setArray(2, connection.createArrayOf("varchar", names));
+		ps.setArray(3, connection.createArrayOf("int4", ratings));
+		ps.setArray(4, connection.createArrayOf("text", texts));
+		ps.setArray(5, connection.createArrayOf("timestamp", createdAt));
+		return ps;
+	}
+}
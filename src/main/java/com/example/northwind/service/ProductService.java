@@ -1,48 +1,239 @@
 package com.example.northwind.service;
 
+import com.example.northwind.dto.CursorPage;
+import com.example.northwind.dto.ProductFacetsDto;
+import com.example.northwind.dto.ProductListItem;
+import com.example.northwind.dto.ProductSuggestion;
+import com.example.northwind.dto.ReorderCandidateView;
+import com.example.northwind.dto.ReorderSupplierGroup;
 import com.example.northwind.entity.Product;
 import com.example.northwind.entity.ProductReview;
+import com.example.northwind.entity.ProductReviewStats;
+import com.example.northwind.exception.BadRequestException;
 import com.example.northwind.repository.ProductRepository;
 import com.example.northwind.repository.ProductReviewRepository;
+import com.example.northwind.repository.ProductReviewStatsRepository;
 import com.example.northwind.repository.spec.ProductSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
+	private static final List<Float> PRICE_BUCKET_BOUNDS = List.of(10f, 25f, 50f, 100f);
+	private static final int MAX_SUGGESTIONS = 50;
+	private static final int MAX_BATCH_IDS = 200;
+	private static final int EXPORT_FLUSH_ROWS = 500;
+	private static final String CSV_HEADER = "id,name,categoryId,supplierId,quantityPerUnit,unitPrice,unitsInStock,unitsOnOrder,reorderLevel,discontinued,imageUrl,description\n";
+
 	private final ProductRepository productRepository;
 	private final ProductReviewRepository productReviewRepository;
+	private final ProductReviewStatsRepository productReviewStatsRepository;
+	private final ProductCache productCache;
+	private final CursorCodec cursorCodec;
+	private final ProductSuggestIndex suggestIndex;
+	private final ObjectMapper objectMapper;
+	@PersistenceContext
+	private EntityManager entityManager;
 
-	public Page<Product> list(String q, Integer categoryId, Integer supplierId,
+	public Page<ProductListItem> list(String q, Integer categoryId, Integer supplierId,
 							 java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice,
-							 Boolean discontinued, Pageable pageable) {
-		Specification<Product> spec = ProductSpecifications.buildSpecification(q, categoryId, supplierId, minPrice, maxPrice, discontinued);
-		return productRepository.findAll(spec, pageable);
+							 Boolean discontinued, String color, String size, Pageable pageable) {
+		Specification<Product> spec = ProductSpecifications.buildSpecification(q, categoryId, supplierId, minPrice, maxPrice, discontinued, color, size);
+		return productRepository.findListItems(spec, q, pageable);
+	}
+
+	/**
+	 * Keyset variant of {@link #list}: seeks past the row encoded in {@code after} on the requested sort
+	 * plus the primary key, and skips the count query. Relevance ordering does not apply in this mode.
+	 */
+	public CursorPage<ProductListItem> scroll(String q, Integer categoryId, Integer supplierId,
+									  java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice,
+									  Boolean discontinued, String color, String size, String after, Pageable pageable) {
+		Specification<Product> spec = ProductSpecifications.buildSpecification(q, categoryId, supplierId, minPrice, maxPrice, discontinued, color, size);
+		cursorCodec.requireNonNullSort(pageable.getSort(), Product.class);
+		KeysetScrollPosition position = cursorCodec.decode(after, Product.class);
+		Window<Product> window = productRepository.findBy(spec, query -> query
+				.sortBy(pageable.getSort())
+				.limit(pageable.getPageSize())
+				.scroll(position));
+		return cursorCodec.toPage(window.map(ProductListItem::from));
+	}
+
+	/** Fills the rating summary on a page of list rows from product_review_stats in one {@code IN} lookup. */
+	public void attachRatings(List<ProductListItem> items) {
+		if (items.isEmpty()) return;
+		Map<Integer, ProductReviewStats> stats = new HashMap<>();
+		productReviewStatsRepository.findAllById(items.stream().map(item -> item.id).toList())
+				.forEach(s -> stats.put(s.getProductId(), s));
+		for (ProductListItem item : items) {
+			ProductReviewStats s = stats.get(item.id);
+			item.averageRating = s != null ? s.averageRating() : 0.0;
+			item.reviewCount = s != null ? s.getReviewCount() : 0L;
+		}
+	}
+
+	/**
+	 * Facet counts for the same filters as {@link #list}, from one grouped query over
+	 * (category, supplier, discontinued) with price buckets folded in as conditional counts.
+	 */
+	public ProductFacetsDto facets(String q, Integer categoryId, Integer supplierId,
+								   java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice, Boolean discontinued,
+								   String color, String size) {
+		Specification<Product> spec = ProductSpecifications.buildSpecification(q, categoryId, supplierId, minPrice, maxPrice, discontinued, color, size);
+		List<Tuple> groups = productRepository.countFacetGroups(spec, PRICE_BUCKET_BOUNDS);
+		ProductFacetsDto facets = new ProductFacetsDto();
+		for (int i = 0; i <= PRICE_BUCKET_BOUNDS.size(); i++) {
+			facets.priceBuckets.put(priceBucketLabel(i), 0L);
+		}
+		for (Tuple group : groups) {
+			long count = group.get("count", Long.class);
+			facets.total += count;
+			addCount(facets.categories, group.get("categoryId", Integer.class), count);
+			addCount(facets.suppliers, group.get("supplierId", Integer.class), count);
+			addCount(facets.discontinued, group.get("discontinued", Boolean.class), count);
+			for (int i = 0; i <= PRICE_BUCKET_BOUNDS.size(); i++) {
+				Number inBucket = (Number) group.get("bucket" + i);
+				facets.priceBuckets.merge(priceBucketLabel(i), inBucket == null ? 0L : inBucket.longValue(), Long::sum);
+			}
+		}
+		return facets;
+	}
+
+	// Products without a category/supplier still count towards the total, just not towards a facet value
+	private static <K> void addCount(Map<K, Long> facet, K key, long count) {
+		if (key != null) facet.merge(key, count, Long::sum);
+	}
+
+	private static String priceBucketLabel(int i) {
+		if (i == PRICE_BUCKET_BOUNDS.size()) return Math.round(PRICE_BUCKET_BOUNDS.get(i - 1)) + "+";
+		long lower = i == 0 ? 0 : Math.round(PRICE_BUCKET_BOUNDS.get(i - 1));
+		return lower + "-" + Math.round(PRICE_BUCKET_BOUNDS.get(i));
+	}
+
+	public List<ProductSuggestion> suggest(String prefix, int limit) {
+		return suggestIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
 	}
 
 	public Product get(Integer id) {
-		return productRepository.findById(id).orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Product not found"));
+		return productCache.get(id, key -> productRepository.findById(key).orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Product not found")));
+	}
+
+	/**
+	 * Multi-get for cart and order screens: cached products are served first and the remaining ids are
+	 * loaded with one {@code IN} query. Results follow the requested order; unknown ids are skipped.
+	 */
+	public List<Product> getAll(List<Integer> ids) {
+		List<Integer> distinct = ids.stream().filter(java.util.Objects::nonNull).distinct().toList();
+		if (distinct.size() > MAX_BATCH_IDS) {
+			throw new BadRequestException("At most " + MAX_BATCH_IDS + " ids per request");
+		}
+		Map<Integer, Product> found = productCache.getAll(distinct, productRepository::findAllById);
+		return distinct.stream().map(found::get).filter(java.util.Objects::nonNull).toList();
+	}
+
+	/**
+	 * Writes the full catalog as NDJSON or CSV while reading it through a forward-only cursor. Each row is
+	 * detached once written, so heap use stays flat regardless of catalog size.
+	 */
+	@Transactional(readOnly = true)
+	public void export(String format, OutputStream target) throws IOException {
+		boolean csv = "csv".equals(format);
+		OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+		if (csv) out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+		try (Stream<Product> products = productRepository.streamAll()) {
+			int written = 0;
+			for (Product p : (Iterable<Product>) products::iterator) {
+				if (csv) {
+					out.write(toCsvRow(p).getBytes(StandardCharsets.UTF_8));
+				} else {
+					out.write(objectMapper.writeValueAsBytes(p));
+					out.write('\n');
+				}
+				entityManager.detach(p);
+				if (++written % EXPORT_FLUSH_ROWS == 0) out.flush();
+			}
+		}
+		out.flush();
+	}
+
+	private static String toCsvRow(Product p) {
+		Object[] values = {p.getId(), p.getName(), p.getCategoryId(), p.getSupplier() != null ? p.getSupplier().getId() : null,
+				p.getQuantityPerUnit(), p.getUnitPrice(), p.getUnitsInStock(), p.getUnitsOnOrder(), p.getReorderLevel(),
+				p.getDiscontinued(), p.getImageUrl(), p.getDescription()};
+		StringBuilder row = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) row.append(',');
+			if (values[i] == null) continue;
+			String v = values[i].toString();
+			if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+				row.append('"').append(v.replace("\"", "\"\"")).append('"');
+			} else {
+				row.append(v);
+			}
+		}
+		return row.append('\n').toString();
+	}
+
+	/** Products needing reorder, grouped by supplier in supplier id order, from a single indexed query. */
+	public List<ReorderSupplierGroup> reorder() {
+		Map<Integer, ReorderSupplierGroup> groups = new LinkedHashMap<>();
+		for (ReorderCandidateView candidate : productRepository.findReorderCandidates()) {
+			groups.computeIfAbsent(candidate.getSupplierId(), id -> new ReorderSupplierGroup(id, candidate.getSupplierName()))
+					.products.add(candidate);
+		}
+		return new ArrayList<>(groups.values());
 	}
 
 	public List<ProductReview> getReviews(Integer productId) {
 		return productReviewRepository.findByProductIdOrderByCreatedAtDesc(productId);
 	}
 
+	public CursorPage<ProductReview> scrollReviews(Integer productId, String after, Pageable pageable) {
+		KeysetScrollPosition position = cursorCodec.decode(after, ProductReview.class);
+		Window<ProductReview> window = productReviewRepository.findByProductIdOrderByCreatedAtDescIdDesc(
+				productId, position, Limit.of(pageable.getPageSize()));
+		return cursorCodec.toPage(window);
+	}
+
+	/** Single primary-key read of the trigger-maintained aggregates; products without reviews report zeros. */
 	public Map<String, Object> getReviewStats(Integer productId) {
-		Double averageRating = productReviewRepository.findAverageRatingByProductId(productId);
-		Long reviewCount = productReviewRepository.countByProductId(productId);
-		
+		ProductReviewStats aggregate = productReviewStatsRepository.findById(productId).orElse(null);
+		long reviewCount = aggregate != null ? aggregate.getReviewCount() : 0L;
+
+		Map<String, Long> histogram = new LinkedHashMap<>();
+		histogram.put("1", aggregate != null ? aggregate.getRating1() : 0L);
+		histogram.put("2", aggregate != null ? aggregate.getRating2() : 0L);
+		histogram.put("3", aggregate != null ? aggregate.getRating3() : 0L);
+		histogram.put("4", aggregate != null ? aggregate.getRating4() : 0L);
+		histogram.put("5", aggregate != null ? aggregate.getRating5() : 0L);
+
 		Map<String, Object> stats = new HashMap<>();
-		stats.put("averageRating", averageRating != null ? averageRating : 0.0);
+		stats.put("averageRating", aggregate != null ? aggregate.averageRating() : 0.0);
 		stats.put("reviewCount", reviewCount);
+		stats.put("histogram", histogram);
 		
 		return stats;
 	}
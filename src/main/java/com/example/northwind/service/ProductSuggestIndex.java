@@ -0,0 +1,105 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.ProductSuggestion;
+import com.example.northwind.entity.ProductChangedEvent;
+import com.example.northwind.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prefix index over product names for typeahead. Names are kept lower-cased in one sorted array, so a
+ * lookup is a binary search for the first key at or after the prefix followed by a short forward scan.
+ * The snapshot is immutable and swapped on write (catalog writes are rare), so reads never lock and
+ * never touch the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSuggestIndex {
+	private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key).thenComparing(Entry::id);
+
+	private final ProductRepository productRepository;
+	private volatile Entry[] entries = new Entry[0];
+	// Non-null while rebuild() is loading; guarded by this
+	private List<ProductChangedEvent> replay;
+
+	private record Entry(String key, Integer id, String name) {}
+
+	/**
+	 * Loads the catalog without holding the monitor; changes committed meanwhile are recorded and replayed
+	 * onto the loaded snapshot before it is swapped in, so none are lost to the slower load.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		synchronized (this) {
+			replay = new ArrayList<>();
+		}
+		Entry[] built;
+		try {
+			built = productRepository.findAllProjectedBy().stream()
+					.filter(n -> n.getName() != null)
+					.map(n -> new Entry(normalize(n.getName()), n.getId(), n.getName()))
+					.sorted(ORDER)
+					.toArray(Entry[]::new);
+		} catch (RuntimeException e) {
+			synchronized (this) { replay = null; }
+			throw e;
+		}
+		synchronized (this) {
+			for (ProductChangedEvent event : replay) built = apply(built, event);
+			replay = null;
+			entries = built;
+		}
+	}
+
+	/** After commit, so uncommitted or rolled-back names are never suggested. */
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public synchronized void onProductChanged(ProductChangedEvent event) {
+		if (replay != null) replay.add(event);
+		entries = apply(entries, event);
+	}
+
+	public List<ProductSuggestion> suggest(String prefix, int limit) {
+		if (prefix == null || prefix.isBlank() || limit <= 0) return List.of();
+		String key = normalize(prefix);
+		Entry[] snapshot = entries;
+		int i = Arrays.binarySearch(snapshot, new Entry(key, Integer.MIN_VALUE, null), ORDER);
+		if (i < 0) i = -i - 1;
+		List<ProductSuggestion> out = new ArrayList<>(Math.min(limit, 16));
+		for (; i < snapshot.length && out.size() < limit && snapshot[i].key().startsWith(key); i++) {
+			out.add(new ProductSuggestion(snapshot[i].id(), snapshot[i].name()));
+		}
+		return out;
+	}
+
+	public int size() {
+		return entries.length;
+	}
+
+	private static Entry[] apply(Entry[] base, ProductChangedEvent event) {
+		List<Entry> next = new ArrayList<>(base.length + 1);
+		for (Entry e : base) {
+			if (!e.id().equals(event.productId())) next.add(e);
+		}
+		if (!event.isRemoval() && event.product().getName() != null) {
+			Entry added = new Entry(normalize(event.product().getName()), event.productId(), event.product().getName());
+			int at = Collections.binarySearch(next, added, ORDER);
+			next.add(at < 0 ? -at - 1 : at, added);
+		}
+		return next.toArray(Entry[]::new);
+	}
+
+	private static String normalize(String s) {
+		return s.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.northwind.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Drains sales_rollup_dirty_days (filled by the V14 triggers) and recomputes sales_daily_rollup and
+ * sales_daily_orders for those days.
+ * Days are claimed with {@code FOR UPDATE SKIP LOCKED}, so several instances can run the job without
+ * double work, and a write landing on a day mid-refresh simply marks it dirty again for the next run.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+	private static final String CLAIM_SQL =
+			"DELETE FROM sales_rollup_dirty_days WHERE sales_date IN (" +
+			"SELECT sales_date FROM sales_rollup_dirty_days ORDER BY sales_date LIMIT ? FOR UPDATE SKIP LOCKED) " +
+			"RETURNING sales_date";
+
+	private static final String REBUILD_SQL =
+			"INSERT INTO sales_daily_rollup (sales_date, category_id, employee_id, customer_country, revenue, quantity, order_count) " +
+			"SELECT o.order_date, coalesce(p.category_id, 0), coalesce(o.employee_id, 0), coalesce(c.country, ''), " +
+			"round(sum(od.unit_price * od.quantity * (1 - od.discount))::numeric, 2), sum(od.quantity), count(DISTINCT o.order_id) " +
+			"FROM orders o " +
+			"JOIN order_details od ON od.order_id = o.order_id " +
+			"JOIN products p ON p.product_id = od.product_id " +
+			"LEFT JOIN customers c ON c.customer_id = o.customer_id " +
+			"WHERE o.order_date = ANY(?) " +
+			"GROUP BY 1, 2, 3, 4";
+
+	private static final String REBUILD_ORDERS_SQL =
+			"INSERT INTO sales_daily_orders (sales_date, employee_id, customer_country, order_count) " +
+			"SELECT o.order_date, coalesce(o.employee_id, 0), coalesce(c.country, ''), count(DISTINCT o.order_id) " +
+			"FROM orders o " +
+			"JOIN order_details od ON od.order_id = o.order_id " +
+			"JOIN products p ON p.product_id = od.product_id " +
+			"LEFT JOIN customers c ON c.customer_id = o.customer_id " +
+			"WHERE o.order_date = ANY(?) " +
+			"GROUP BY 1, 2, 3";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${northwind.analytics.rollup.batch-days:100}")
+	private int batchDays;
+
+	@Scheduled(fixedDelayString = "${northwind.analytics.rollup.interval:PT15S}")
+	public void refreshDirtyDays() {
+		int refreshed;
+		do {
+			refreshed = refreshBatch();
+		} while (refreshed == batchDays);
+	}
+
+	/** Recomputes one batch of dirty days in a single transaction; returns how many days were refreshed. */
+	public int refreshBatch() {
+		Integer refreshed = transactionTemplate.execute(status -> {
+			List<LocalDate> days = jdbcTemplate.queryForList(CLAIM_SQL, LocalDate.class, batchDays);
+			if (days.isEmpty()) return 0;
+			Date[] dates = days.stream().map(Date::valueOf).toArray(Date[]::new);
+			PreparedStatementSetter bindDays = ps -> ps.setArray(1, ps.getConnection().createArrayOf("date", dates));
+			jdbcTemplate.update("DELETE FROM sales_daily_rollup WHERE sales_date = ANY(?)", bindDays);
+			jdbcTemplate.update(REBUILD_SQL, bindDays);
+			jdbcTemplate.update("DELETE FROM sales_daily_orders WHERE sales_date = ANY(?)", bindDays);
+			jdbcTemplate.update(REBUILD_ORDERS_SQL, bindDays);
+			return days.size();
+		});
+		return refreshed != null ? refreshed : 0;
+	}
+}
@@ -0,0 +1,133 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.TopProductDto;
+import com.example.northwind.entity.OrderDateChangedEvent;
+import com.example.northwind.entity.OrderLinesChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best sellers over a sliding window of recent days, held in memory as exact per-day, per-product counters.
+ * Seeded from the database on startup; committed line changes mark their orders pending, and order date
+ * changes or removals mark both the old and the new day. The affected days are re-aggregated in one grouped
+ * query on the next flush, so reads never touch the database.
+ * The window ends at the latest order date held, and only the last {@value #MAX_WINDOW_DAYS} days are kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class TopProductsTracker {
+	static final int MAX_WINDOW_DAYS = 90;
+
+	private static final String DAY_TOTALS_SQL =
+			"SELECT o.order_date, od.product_id, p.product_name, " +
+			"round(sum(od.unit_price * od.quantity * (1 - od.discount))::numeric, 2) AS revenue, sum(od.quantity) AS quantity " +
+			"FROM orders o JOIN order_details od ON od.order_id = o.order_id JOIN products p ON p.product_id = od.product_id ";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Set<Integer> pendingOrders = ConcurrentHashMap.newKeySet();
+	private final Set<LocalDate> pendingDays = ConcurrentHashMap.newKeySet();
+	private volatile NavigableMap<LocalDate, Map<Integer, DayTotal>> days = new TreeMap<>();
+
+	private record DayTotal(String name, BigDecimal revenue, long quantity) {}
+
+	/** Loads under the monitor so a flush that read newer data cannot be overwritten by this older snapshot. */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void seed() {
+		days = load("WHERE o.order_date > (SELECT max(order_date) FROM orders) - " + MAX_WINDOW_DAYS + " ", ps -> {});
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onOrderLinesChanged(OrderLinesChangedEvent event) {
+		pendingOrders.add(event.orderId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onOrderDateChanged(OrderDateChangedEvent event) {
+		if (event.previousDate() != null) pendingDays.add(event.previousDate());
+		if (event.orderDate() != null) pendingDays.add(event.orderDate());
+	}
+
+	/** Re-aggregates the days touched by pending orders and dates: one lookup for the orders' dates, one grouped query for the days. */
+	@Scheduled(fixedDelayString = "${northwind.analytics.top-products.flush-interval:PT5S}")
+	public void flush() {
+		if (pendingOrders.isEmpty() && pendingDays.isEmpty()) return;
+		Set<LocalDate> touched = new HashSet<>(pendingDays);
+		pendingDays.removeAll(touched);
+		Integer[] orderIds = pendingOrders.toArray(Integer[]::new);
+		pendingOrders.removeAll(List.of(orderIds));
+		if (orderIds.length > 0) {
+			touched.addAll(jdbcTemplate.queryForList(
+					"SELECT DISTINCT order_date FROM orders WHERE order_id = ANY(?) AND order_date IS NOT NULL", LocalDate.class, (Object) orderIds));
+		}
+		if (touched.isEmpty()) return;
+		Date[] dates = touched.stream().map(Date::valueOf).toArray(Date[]::new);
+		NavigableMap<LocalDate, Map<Integer, DayTotal>> reloaded = load("WHERE o.order_date = ANY(?) ",
+				ps -> ps.setArray(1, ps.getConnection().createArrayOf("date", dates)));
+		synchronized (this) {
+			NavigableMap<LocalDate, Map<Integer, DayTotal>> next = new TreeMap<>(days);
+			touched.forEach(next::remove);
+			next.putAll(reloaded);
+			LocalDate latest = next.isEmpty() ? null : next.lastKey();
+			if (latest != null) next.headMap(latest.minusDays(MAX_WINDOW_DAYS), true).clear();
+			days = next;
+		}
+	}
+
+	/** Top {@code limit} products over the last {@code windowDays} days, ranked by revenue or by quantity. */
+	public List<TopProductDto> top(int windowDays, boolean byQuantity, int limit) {
+		NavigableMap<LocalDate, Map<Integer, DayTotal>> snapshot = days;
+		if (snapshot.isEmpty()) return List.of();
+		LocalDate latest = snapshot.lastKey();
+		Map<Integer, TopProductDto> merged = new HashMap<>();
+		for (Map<Integer, DayTotal> day : snapshot.tailMap(latest.minusDays(windowDays), false).values()) {
+			day.forEach((productId, t) -> {
+				TopProductDto p = merged.computeIfAbsent(productId, id -> new TopProductDto(id, t.name(), BigDecimal.ZERO, 0));
+				p.revenue = p.revenue.add(t.revenue());
+				p.quantity += t.quantity();
+			});
+		}
+		Comparator<TopProductDto> rank = byQuantity
+				? Comparator.<TopProductDto>comparingLong(p -> p.quantity).thenComparing(p -> p.revenue)
+				: Comparator.<TopProductDto, BigDecimal>comparing(p -> p.revenue).thenComparingLong(p -> p.quantity);
+		// full ties rank the lower product id first, so results are stable across calls
+		rank = rank.thenComparing(p -> p.productId, Comparator.reverseOrder());
+		PriorityQueue<TopProductDto> heap = new PriorityQueue<>(limit + 1, rank);
+		for (TopProductDto p : merged.values()) {
+			heap.add(p);
+			if (heap.size() > limit) heap.poll();
+		}
+		List<TopProductDto> out = new ArrayList<>(heap);
+		out.sort(rank.reversed());
+		return out;
+	}
+
+	private NavigableMap<LocalDate, Map<Integer, DayTotal>> load(String where, PreparedStatementSetter args) {
+		NavigableMap<LocalDate, Map<Integer, DayTotal>> loaded = new TreeMap<>();
+		jdbcTemplate.query(DAY_TOTALS_SQL + where + "GROUP BY 1, 2, 3", args, rs -> {
+			loaded.computeIfAbsent(rs.getObject(1, LocalDate.class), d -> new HashMap<>())
+					.put(rs.getInt(2), new DayTotal(rs.getString(3), rs.getBigDecimal(4), rs.getLong(5)));
+		});
+		return loaded;
+	}
+}
@@ -0,0 +1,6 @@
+-- Expression index for the reorder report: stock position relative to the reorder level, active products only.
+-- A reorder level of 0 means the product is not restocked, so it never needs reordering even when out of stock.
+-- The query in ProductRepository.findReorderCandidates must keep the same expression and predicate to use it.
+CREATE INDEX IF NOT EXISTS idx_products_reorder_gap
+    ON products ((units_in_stock + units_on_order - reorder_level), supplier_id)
+    WHERE discontinued = 0 AND reorder_level > 0;
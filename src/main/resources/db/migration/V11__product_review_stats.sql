@@ -0,0 +1,74 @@
+-- Per-product review aggregates (count, rating sum, 1-5 star histogram), maintained by statement-level
+-- triggers on product_reviews so every writer - single saves, bulk ingest, manual SQL - keeps them in step.
+-- No FK to products: deleting a product cascades to its reviews, and the delete trigger still has to land its delta.
+CREATE TABLE IF NOT EXISTS product_review_stats (
+    product_id INTEGER PRIMARY KEY,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO product_review_stats (product_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5)
+SELECT product_id, count(*), sum(rating),
+       count(*) FILTER (WHERE rating = 1), count(*) FILTER (WHERE rating = 2), count(*) FILTER (WHERE rating = 3),
+       count(*) FILTER (WHERE rating = 4), count(*) FILTER (WHERE rating = 5)
+FROM product_reviews
+GROUP BY product_id
+ON CONFLICT (product_id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION product_review_stats_apply() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        INSERT INTO product_review_stats AS s (product_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5)
+        SELECT product_id, -count(*), -sum(rating),
+               -count(*) FILTER (WHERE rating = 1), -count(*) FILTER (WHERE rating = 2), -count(*) FILTER (WHERE rating = 3),
+               -count(*) FILTER (WHERE rating = 4), -count(*) FILTER (WHERE rating = 5)
+        FROM old_rows
+        GROUP BY product_id
+        ON CONFLICT (product_id) DO UPDATE SET
+            review_count = s.review_count + EXCLUDED.review_count,
+            rating_sum = s.rating_sum + EXCLUDED.rating_sum,
+            rating_1 = s.rating_1 + EXCLUDED.rating_1,
+            rating_2 = s.rating_2 + EXCLUDED.rating_2,
+            rating_3 = s.rating_3 + EXCLUDED.rating_3,
+            rating_4 = s.rating_4 + EXCLUDED.rating_4,
+            rating_5 = s.rating_5 + EXCLUDED.rating_5;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO product_review_stats AS s (product_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5)
+        SELECT product_id, count(*), sum(rating),
+               count(*) FILTER (WHERE rating = 1), count(*) FILTER (WHERE rating = 2), count(*) FILTER (WHERE rating = 3),
+               count(*) FILTER (WHERE rating = 4), count(*) FILTER (WHERE rating = 5)
+        FROM new_rows
+        GROUP BY product_id
+        ON CONFLICT (product_id) DO UPDATE SET
+            review_count = s.review_count + EXCLUDED.review_count,
+            rating_sum = s.rating_sum + EXCLUDED.rating_sum,
+            rating_1 = s.rating_1 + EXCLUDED.rating_1,
+            rating_2 = s.rating_2 + EXCLUDED.rating_2,
+            rating_3 = s.rating_3 + EXCLUDED.rating_3,
+            rating_4 = s.rating_4 + EXCLUDED.rating_4,
+            rating_5 = s.rating_5 + EXCLUDED.rating_5;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_product_review_stats_insert ON product_reviews;
+CREATE TRIGGER trg_product_review_stats_insert AFTER INSERT ON product_reviews
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION product_review_stats_apply();
+
+DROP TRIGGER IF EXISTS trg_product_review_stats_update ON product_reviews;
+CREATE TRIGGER trg_product_review_stats_update AFTER UPDATE ON product_reviews
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION product_review_stats_apply();
+
+DROP TRIGGER IF EXISTS trg_product_review_stats_delete ON product_reviews;
+CREATE TRIGGER trg_product_review_stats_delete AFTER DELETE ON product_reviews
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION product_review_stats_apply();
@@ -0,0 +1,14 @@
+-- Keyset index for the newest-first review listing: ProductReviewRepository.findByProductIdOrderByCreatedAtDescIdDesc
+-- seeks on (created_at, id) within one product. It also covers plain product_id lookups, so the old single-column index goes.
+-- A NULL created_at would never satisfy the seek predicate, so such rows could only appear on the first page:
+-- reviews without a timestamp are treated as the oldest ones and the column becomes NOT NULL first.
+UPDATE product_reviews
+SET created_at = coalesce((SELECT min(created_at) FROM product_reviews), CURRENT_TIMESTAMP)
+WHERE created_at IS NULL;
+
+ALTER TABLE product_reviews ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_product_reviews_product_created
+    ON product_reviews (product_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_product_reviews_product_id;
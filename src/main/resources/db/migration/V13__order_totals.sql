@@ -0,0 +1,58 @@
+-- Denormalized order value: order_total (rounded line sum) and line_count on orders, kept in step with
+-- order_details by statement-level triggers so every writer - JPA, bulk import, manual SQL - is covered.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS order_total NUMERIC(12,2) NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS line_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE orders o
+SET order_total = t.total, line_count = t.lines
+FROM (
+    SELECT order_id, round(sum(unit_price * quantity * (1 - discount))::numeric, 2) AS total, count(*) AS lines
+    FROM order_details
+    GROUP BY order_id
+) t
+WHERE t.order_id = o.order_id;
+
+-- Sorting and range filters on /api/orders; order_id breaks ties for keyset paging.
+CREATE INDEX IF NOT EXISTS idx_orders_order_total ON orders (order_total, order_id);
+
+-- Recomputes (rather than adjusts) the touched orders, so real-valued line arithmetic never drifts.
+CREATE OR REPLACE FUNCTION orders_recompute_totals(ids smallint[]) RETURNS void AS $$
+    UPDATE orders o
+    SET order_total = coalesce(t.total, 0), line_count = coalesce(t.lines, 0)
+    FROM unnest(ids) AS k(order_id)
+    LEFT JOIN (
+        SELECT order_id, round(sum(unit_price * quantity * (1 - discount))::numeric, 2) AS total, count(*) AS lines
+        FROM order_details
+        WHERE order_id = ANY(ids)
+        GROUP BY order_id
+    ) t ON t.order_id = k.order_id
+    WHERE o.order_id = k.order_id;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION order_details_totals_apply() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM orders_recompute_totals(ARRAY(SELECT DISTINCT order_id FROM new_rows));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM orders_recompute_totals(ARRAY(SELECT order_id FROM new_rows UNION SELECT order_id FROM old_rows));
+    ELSE
+        PERFORM orders_recompute_totals(ARRAY(SELECT DISTINCT order_id FROM old_rows));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_order_details_totals_insert ON order_details;
+CREATE TRIGGER trg_order_details_totals_insert AFTER INSERT ON order_details
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION order_details_totals_apply();
+
+DROP TRIGGER IF EXISTS trg_order_details_totals_update ON order_details;
+CREATE TRIGGER trg_order_details_totals_update AFTER UPDATE ON order_details
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION order_details_totals_apply();
+
+DROP TRIGGER IF EXISTS trg_order_details_totals_delete ON order_details;
+CREATE TRIGGER trg_order_details_totals_delete AFTER DELETE ON order_details
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION order_details_totals_apply();
@@ -0,0 +1,121 @@
+-- Pre-aggregated sales per (day, category, employee, customer country) for /api/analytics.
+-- Missing dimensions are stored as 0 / '' so they can be part of the primary key.
+-- order_count counts distinct orders within a group; an order spanning several categories is counted once per category,
+-- so totals that are not split by category read sales_daily_orders instead.
+CREATE TABLE IF NOT EXISTS sales_daily_rollup (
+    sales_date DATE NOT NULL,
+    category_id INTEGER NOT NULL,
+    employee_id INTEGER NOT NULL,
+    customer_country VARCHAR(15) NOT NULL,
+    revenue NUMERIC(14,2) NOT NULL,
+    quantity BIGINT NOT NULL,
+    order_count BIGINT NOT NULL,
+    PRIMARY KEY (sales_date, category_id, employee_id, customer_country)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sales_daily_rollup_category ON sales_daily_rollup (category_id, sales_date);
+CREATE INDEX IF NOT EXISTS idx_sales_daily_rollup_employee ON sales_daily_rollup (employee_id, sales_date);
+
+-- Distinct orders per (day, employee, customer country): the order counts for queries not split by category.
+CREATE TABLE IF NOT EXISTS sales_daily_orders (
+    sales_date DATE NOT NULL,
+    employee_id INTEGER NOT NULL,
+    customer_country VARCHAR(15) NOT NULL,
+    order_count BIGINT NOT NULL,
+    PRIMARY KEY (sales_date, employee_id, customer_country)
+);
+
+-- Days whose rollup rows are stale. Triggers only mark days; SalesRollupService recomputes them off the write path.
+CREATE TABLE IF NOT EXISTS sales_rollup_dirty_days (
+    sales_date DATE PRIMARY KEY
+);
+
+INSERT INTO sales_daily_rollup (sales_date, category_id, employee_id, customer_country, revenue, quantity, order_count)
+SELECT o.order_date, coalesce(p.category_id, 0), coalesce(o.employee_id, 0), coalesce(c.country, ''),
+       round(sum(od.unit_price * od.quantity * (1 - od.discount))::numeric, 2), sum(od.quantity), count(DISTINCT o.order_id)
+FROM orders o
+JOIN order_details od ON od.order_id = o.order_id
+JOIN products p ON p.product_id = od.product_id
+LEFT JOIN customers c ON c.customer_id = o.customer_id
+WHERE o.order_date IS NOT NULL
+GROUP BY 1, 2, 3, 4
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sales_daily_orders (sales_date, employee_id, customer_country, order_count)
+SELECT o.order_date, coalesce(o.employee_id, 0), coalesce(c.country, ''), count(DISTINCT o.order_id)
+FROM orders o
+JOIN order_details od ON od.order_id = o.order_id
+JOIN products p ON p.product_id = od.product_id
+LEFT JOIN customers c ON c.customer_id = o.customer_id
+WHERE o.order_date IS NOT NULL
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION sales_rollup_mark_orders() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO sales_rollup_dirty_days SELECT DISTINCT order_date FROM new_rows WHERE order_date IS NOT NULL
+        ON CONFLICT DO NOTHING;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO sales_rollup_dirty_days SELECT DISTINCT order_date FROM old_rows WHERE order_date IS NOT NULL
+        ON CONFLICT DO NOTHING;
+    ELSE
+        -- Only changes to rollup dimensions matter; order_total refreshes from order_details are covered below.
+        INSERT INTO sales_rollup_dirty_days
+        SELECT DISTINCT v.sales_date
+        FROM new_rows n
+        JOIN old_rows o ON o.order_id = n.order_id
+        CROSS JOIN LATERAL (VALUES (n.order_date), (o.order_date)) AS v(sales_date)
+        WHERE v.sales_date IS NOT NULL
+          AND (n.order_date, n.employee_id, n.customer_id) IS DISTINCT FROM (o.order_date, o.employee_id, o.customer_id)
+        ON CONFLICT DO NOTHING;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sales_rollup_mark_order_details() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO sales_rollup_dirty_days
+        SELECT DISTINCT o.order_date FROM new_rows n JOIN orders o ON o.order_id = n.order_id WHERE o.order_date IS NOT NULL
+        ON CONFLICT DO NOTHING;
+    END IF;
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        INSERT INTO sales_rollup_dirty_days
+        SELECT DISTINCT o.order_date FROM old_rows d JOIN orders o ON o.order_id = d.order_id WHERE o.order_date IS NOT NULL
+        ON CONFLICT DO NOTHING;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_orders_rollup_insert ON orders;
+CREATE TRIGGER trg_orders_rollup_insert AFTER INSERT ON orders
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION sales_rollup_mark_orders();
+
+DROP TRIGGER IF EXISTS trg_orders_rollup_update ON orders;
+CREATE TRIGGER trg_orders_rollup_update AFTER UPDATE ON orders
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION sales_rollup_mark_orders();
+
+DROP TRIGGER IF EXISTS trg_orders_rollup_delete ON orders;
+CREATE TRIGGER trg_orders_rollup_delete AFTER DELETE ON orders
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION sales_rollup_mark_orders();
+
+DROP TRIGGER IF EXISTS trg_order_details_rollup_insert ON order_details;
+CREATE TRIGGER trg_order_details_rollup_insert AFTER INSERT ON order_details
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION sales_rollup_mark_order_details();
+
+DROP TRIGGER IF EXISTS trg_order_details_rollup_update ON order_details;
+CREATE TRIGGER trg_order_details_rollup_update AFTER UPDATE ON order_details
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION sales_rollup_mark_order_details();
+
+DROP TRIGGER IF EXISTS trg_order_details_rollup_delete ON order_details;
+CREATE TRIGGER trg_order_details_rollup_delete AFTER DELETE ON order_details
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION sales_rollup_mark_order_details();
@@ -0,0 +1,24 @@
+-- Per-customer lifetime value and RFM scores, rebuilt by CustomerMetricsService and read by CustomerService.
+-- Scores are quintiles (1-5, 5 best) across all customers with orders; recency is measured against the latest
+-- order date in the data set (as_of_date) so historical data still spreads over the full range.
+CREATE TABLE IF NOT EXISTS customer_metrics (
+    customer_id VARCHAR(5) PRIMARY KEY,
+    order_count INTEGER NOT NULL,
+    lifetime_value NUMERIC(14,2) NOT NULL,
+    average_order_value NUMERIC(14,2) NOT NULL,
+    first_order_date DATE,
+    last_order_date DATE,
+    recency_days INTEGER,
+    recency_score SMALLINT NOT NULL,
+    frequency_score SMALLINT NOT NULL,
+    monetary_score SMALLINT NOT NULL,
+    rfm_segment VARCHAR(3) NOT NULL,
+    as_of_date DATE,
+    computed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_customer_metrics_segment ON customer_metrics (rfm_segment, lifetime_value DESC);
+CREATE INDEX IF NOT EXISTS idx_customer_metrics_ltv ON customer_metrics (lifetime_value DESC);
+
+-- Key-ordered scan for the batch job: customer, then date, reading order_total without touching the heap.
+CREATE INDEX IF NOT EXISTS idx_orders_customer_date_total ON orders (customer_id, order_date) INCLUDE (order_total);
@@ -0,0 +1,92 @@
+-- Per-employee, per-month order aggregates for /api/employees/performance, adjusted by deltas from
+-- statement-level triggers on orders. Revenue follows orders.order_total, which the order_details
+-- triggers (V13) refresh with an UPDATE on orders, so line changes arrive here as order updates.
+-- Ship delay is summed over shipped orders only; the average is ship_delay_days / shipped_count.
+CREATE TABLE IF NOT EXISTS employee_monthly_stats (
+    employee_id INTEGER NOT NULL,
+    month DATE NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    revenue NUMERIC(14,2) NOT NULL DEFAULT 0,
+    shipped_count BIGINT NOT NULL DEFAULT 0,
+    ship_delay_days BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (employee_id, month)
+);
+
+-- Team-wide reads scan a month range across all employees.
+CREATE INDEX IF NOT EXISTS idx_employee_monthly_stats_month ON employee_monthly_stats (month);
+
+INSERT INTO employee_monthly_stats (employee_id, month, order_count, revenue, shipped_count, ship_delay_days)
+SELECT employee_id, date_trunc('month', order_date)::date, count(*), sum(order_total),
+       count(*) FILTER (WHERE shipped_date IS NOT NULL), coalesce(sum(shipped_date - order_date), 0)
+FROM orders
+WHERE employee_id IS NOT NULL AND order_date IS NOT NULL
+GROUP BY 1, 2
+ON CONFLICT (employee_id, month) DO NOTHING;
+
+-- Transition tables are only visible to the trigger kinds that declare them, hence one statement per operation.
+CREATE OR REPLACE FUNCTION employee_monthly_stats_apply() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO employee_monthly_stats AS s (employee_id, month, order_count, revenue, shipped_count, ship_delay_days)
+        SELECT employee_id, date_trunc('month', order_date)::date, sum(sign), sum(sign * order_total),
+               coalesce(sum(sign) FILTER (WHERE shipped_date IS NOT NULL), 0), coalesce(sum(sign * (shipped_date - order_date)), 0)
+        FROM (SELECT 1 AS sign, employee_id, order_date, shipped_date, order_total FROM new_rows) d
+        WHERE employee_id IS NOT NULL AND order_date IS NOT NULL
+        GROUP BY 1, 2
+        ON CONFLICT (employee_id, month) DO UPDATE SET
+            order_count = s.order_count + EXCLUDED.order_count,
+            revenue = s.revenue + EXCLUDED.revenue,
+            shipped_count = s.shipped_count + EXCLUDED.shipped_count,
+            ship_delay_days = s.ship_delay_days + EXCLUDED.ship_delay_days;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO employee_monthly_stats AS s (employee_id, month, order_count, revenue, shipped_count, ship_delay_days)
+        SELECT employee_id, date_trunc('month', order_date)::date, sum(sign), sum(sign * order_total),
+               coalesce(sum(sign) FILTER (WHERE shipped_date IS NOT NULL), 0), coalesce(sum(sign * (shipped_date - order_date)), 0)
+        FROM (SELECT -1 AS sign, employee_id, order_date, shipped_date, order_total FROM old_rows) d
+        WHERE employee_id IS NOT NULL AND order_date IS NOT NULL
+        GROUP BY 1, 2
+        ON CONFLICT (employee_id, month) DO UPDATE SET
+            order_count = s.order_count + EXCLUDED.order_count,
+            revenue = s.revenue + EXCLUDED.revenue,
+            shipped_count = s.shipped_count + EXCLUDED.shipped_count,
+            ship_delay_days = s.ship_delay_days + EXCLUDED.ship_delay_days;
+    ELSE
+        -- Only rows whose employee, dates or total changed contribute; updates to other columns are no-ops here.
+        INSERT INTO employee_monthly_stats AS s (employee_id, month, order_count, revenue, shipped_count, ship_delay_days)
+        SELECT employee_id, date_trunc('month', order_date)::date, sum(sign), sum(sign * order_total),
+               coalesce(sum(sign) FILTER (WHERE shipped_date IS NOT NULL), 0), coalesce(sum(sign * (shipped_date - order_date)), 0)
+        FROM (
+            SELECT -1 AS sign, o.employee_id, o.order_date, o.shipped_date, o.order_total FROM old_rows o
+            WHERE NOT EXISTS (SELECT 1 FROM new_rows n WHERE n.order_id = o.order_id
+                AND (n.employee_id, n.order_date, n.shipped_date, n.order_total) IS NOT DISTINCT FROM (o.employee_id, o.order_date, o.shipped_date, o.order_total))
+            UNION ALL
+            SELECT 1, n.employee_id, n.order_date, n.shipped_date, n.order_total FROM new_rows n
+            WHERE NOT EXISTS (SELECT 1 FROM old_rows o WHERE o.order_id = n.order_id
+                AND (o.employee_id, o.order_date, o.shipped_date, o.order_total) IS NOT DISTINCT FROM (n.employee_id, n.order_date, n.shipped_date, n.order_total))
+        ) d
+        WHERE employee_id IS NOT NULL AND order_date IS NOT NULL
+        GROUP BY 1, 2
+        ON CONFLICT (employee_id, month) DO UPDATE SET
+            order_count = s.order_count + EXCLUDED.order_count,
+            revenue = s.revenue + EXCLUDED.revenue,
+            shipped_count = s.shipped_count + EXCLUDED.shipped_count,
+            ship_delay_days = s.ship_delay_days + EXCLUDED.ship_delay_days;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_employee_monthly_stats_insert ON orders;
+CREATE TRIGGER trg_employee_monthly_stats_insert AFTER INSERT ON orders
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION employee_monthly_stats_apply();
+
+DROP TRIGGER IF EXISTS trg_employee_monthly_stats_update ON orders;
+CREATE TRIGGER trg_employee_monthly_stats_update AFTER UPDATE ON orders
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION employee_monthly_stats_apply();
+
+DROP TRIGGER IF EXISTS trg_employee_monthly_stats_delete ON orders;
+CREATE TRIGGER trg_employee_monthly_stats_delete AFTER DELETE ON orders
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION employee_monthly_stats_apply();
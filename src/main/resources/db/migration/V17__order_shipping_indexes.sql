@@ -0,0 +1,5 @@
+-- Partial indexes for the shipping filters on /api/orders and the backlog figures in /api/orders/shipping-stats.
+-- "Late" means shipped after required_date, or still unshipped past it; the second half depends on current_date,
+-- which cannot appear in an index predicate, so it is served by the unshipped index on required_date.
+CREATE INDEX IF NOT EXISTS idx_orders_unshipped ON orders (required_date, order_id) WHERE shipped_date IS NULL;
+CREATE INDEX IF NOT EXISTS idx_orders_shipped_late ON orders (order_date, order_id) WHERE shipped_date > required_date;
@@ -0,0 +1,8 @@
+-- orders.order_id was a smallint without a default: JPA creates (GenerationType.IDENTITY) had no generator to
+-- draw from, and ERP imports were capped at 32767. Both ends of the foreign key become integer, and the column
+-- generates ids after the current maximum. BY DEFAULT still accepts explicit ids, which the NDJSON import writes;
+-- OrderImportService moves the sequence past them.
+ALTER TABLE order_details ALTER COLUMN order_id TYPE integer;
+ALTER TABLE orders ALTER COLUMN order_id TYPE integer;
+ALTER TABLE orders ALTER COLUMN order_id ADD GENERATED BY DEFAULT AS IDENTITY;
+SELECT setval(pg_get_serial_sequence('orders', 'order_id'), coalesce(max(order_id), 0) + 1, false) FROM orders;
@@ -0,0 +1,6 @@
+-- Trigram indexes so substring search (lower(col) LIKE '%q%') can use a GIN index instead of a sequential scan
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(product_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_products_description_trgm ON products USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_products_detailed_description_trgm ON products USING gin (lower(detailed_description) gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- Store variants as jsonb so they can be filtered server-side; jsonb_path_ops serves the @> containment filters
+ALTER TABLE products
+ALTER COLUMN variants TYPE jsonb USING NULLIF(trim(variants), '')::jsonb;
+
+CREATE INDEX IF NOT EXISTS idx_products_variants ON products USING gin (variants jsonb_path_ops);
@@ -0,0 +1,85 @@
+package com.example.northwind;
+
+import com.example.northwind.controller.AnalyticsController;
+import com.example.northwind.dto.RevenueSeries;
+import com.example.northwind.dto.SalesRollupRow;
+import com.example.northwind.dto.TopProductDto;
+import com.example.northwind.exception.BadRequestException;
+import com.example.northwind.security.JwtAuthFilter;
+import com.example.northwind.service.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@WebMvcTest(controllers = AnalyticsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AnalyticsControllerTest {
+    @Autowired MockMvc mockMvc;
+    @MockBean AnalyticsService analyticsService;
+    @MockBean JwtAuthFilter jwtAuthFilter;
+
+    @Test
+    void sales_byMonthAndCategory_ok() throws Exception {
+        SalesRollupRow row = new SalesRollupRow();
+        row.period = LocalDate.of(1997, 1, 1);
+        row.key = "1";
+        row.revenue = new BigDecimal("1234.50");
+        row.quantity = 42;
+        row.orderCount = 7;
+        Mockito.when(analyticsService.sales(LocalDate.of(1997, 1, 1), LocalDate.of(1997, 12, 31), "month", "category", null, null, null))
+                .thenReturn(List.of(row));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/analytics/sales")
+                        .param("from", "1997-01-01").param("to", "1997-12-31").param("period", "month").param("by", "category"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].period").value("1997-01-01"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].revenue").value(1234.50))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].orderCount").value(7));
+    }
+
+    @Test
+    void revenue_defaultsToDailyBuckets() throws Exception {
+        RevenueSeries series = new RevenueSeries();
+        series.bucket = "day";
+        series.bucketsPerPoint = 2;
+        RevenueSeries.Point point = new RevenueSeries.Point();
+        point.period = LocalDate.of(1997, 1, 1);
+        point.revenue = new BigDecimal("987.65");
+        point.quantity = 30;
+        series.points.add(point);
+        Mockito.when(analyticsService.revenue(LocalDate.of(1996, 7, 4), LocalDate.of(1998, 5, 6), "day", 1000)).thenReturn(series);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/analytics/revenue").param("from", "1996-07-04").param("to", "1998-05-06"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.bucketsPerPoint").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.points[0].period").value("1997-01-01"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.points[0].revenue").value(987.65));
+    }
+
+    @Test
+    void topProducts_byQuantity_ok() throws Exception {
+        Mockito.when(analyticsService.topProducts("30d", "quantity", 5))
+                .thenReturn(List.of(new TopProductDto(59, "Raclette Courdavault", new BigDecimal("8250.00"), 150)));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/analytics/top-products")
+                        .param("window", "30d").param("by", "quantity").param("limit", "5"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].productId").value(59))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].quantity").value(150));
+    }
+
+    @Test
+    void invalidParameter_isBadRequest() throws Exception {
+        Mockito.when(analyticsService.topProducts("0d", "revenue", 10)).thenThrow(new BadRequestException("window must be between 1d and 90d"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/analytics/top-products").param("window", "0d"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("bad_request"));
+    }
+}
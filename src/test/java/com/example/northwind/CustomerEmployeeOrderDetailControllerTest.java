@@ -3,10 +3,13 @@ package com.example.northwind;
 import com.example.northwind.controller.CustomerController;
 import com.example.northwind.controller.EmployeeController;
 import com.example.northwind.controller.OrderDetailController;
+import com.example.northwind.dto.EmployeePerformanceDto;
 import com.example.northwind.entity.Customer;
+import com.example.northwind.entity.CustomerMetrics;
 import com.example.northwind.entity.Employee;
 import com.example.northwind.entity.OrderDetail;
 import com.example.northwind.security.JwtAuthFilter;
+import com.example.northwind.service.CustomerMetricsService;
 import com.example.northwind.service.CustomerService;
 import com.example.northwind.service.EmployeeService;
 import com.example.northwind.service.OrderDetailService;
@@ -24,6 +27,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.List;
 
 @WebMvcTest(controllers = {CustomerController.class, EmployeeController.class, OrderDetailController.class})
@@ -31,6 +35,7 @@ import java.util.List;
 class CustomerEmployeeOrderDetailControllerTest {
     @Autowired MockMvc mockMvc;
     @MockBean CustomerService customerService;
+    @MockBean CustomerMetricsService customerMetricsService;
     @MockBean EmployeeService employeeService;
     @MockBean OrderDetailService orderDetailService;
     @MockBean JwtAuthFilter jwtAuthFilter;
@@ -43,6 +48,20 @@ class CustomerEmployeeOrderDetailControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    @Test
+    void customerMetrics_bySegment_defaultsToLifetimeValueDesc() throws Exception {
+        CustomerMetrics m = new CustomerMetrics();
+        m.setCustomerId("ALFKI");
+        m.setRfmSegment("555");
+        m.setLifetimeValue(new BigDecimal("4273.00"));
+        Mockito.when(customerService.metrics(Mockito.eq("555"), Mockito.argThat(p -> p.getSort().getOrderFor("lifetimeValue") != null && p.getSort().getOrderFor("lifetimeValue").isDescending())))
+                .thenReturn(new PageImpl<>(List.of(m), PageRequest.of(0,20), 1));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/metrics").param("segment","555"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].customerId").value("ALFKI"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].rfmSegment").value("555"));
+    }
+
     @Test
     void listEmployees_ok() throws Exception {
         Page<Employee> page = new PageImpl<>(List.of(), PageRequest.of(0,10), 0);
@@ -51,6 +70,19 @@ class CustomerEmployeeOrderDetailControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    @Test
+    void employeePerformance_monthRange_ok() throws Exception {
+        EmployeePerformanceDto dto = EmployeePerformanceDto.of(12, new BigDecimal("15000.00"), 10, 85);
+        dto.employeeId = 4;
+        dto.lastName = "Peacock";
+        Mockito.when(employeeService.performance(YearMonth.of(1997, 1), YearMonth.of(1997, 6))).thenReturn(List.of(dto));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/performance").param("from","1997-01").param("to","1997-06"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].employeeId").value(4))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].averageOrderValue").value(1250.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].averageShipDelayDays").value(8.5));
+    }
+
     @Test
     void orderDetails_list_and_total_ok() throws Exception {
         Page<OrderDetail> page = new PageImpl<>(List.of(), PageRequest.of(0,5), 0);
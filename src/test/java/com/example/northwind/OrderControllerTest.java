@@ -2,9 +2,15 @@ package com.example.northwind;
 
 import com.example.northwind.controller.OrderController;
 import com.example.northwind.service.OrderDetailService;
+import com.example.northwind.service.OrderImportService;
 import com.example.northwind.service.OrderService;
 import com.example.northwind.entity.Order;
+import com.example.northwind.dto.CursorPage;
+import com.example.northwind.dto.OrderImportReport;
+import com.example.northwind.exception.BadRequestException;
+import com.example.northwind.exception.OrderImportException;
 import com.example.northwind.dto.OrderSummaryDto;
+import com.example.northwind.dto.ShippingStatsDto;
 import com.example.northwind.security.JwtAuthFilter;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -21,6 +27,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @WebMvcTest(controllers = OrderController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -28,22 +35,124 @@ class OrderControllerTest {
     @Autowired MockMvc mockMvc;
     @MockBean OrderService orderService;
     @MockBean OrderDetailService orderDetailService;
+    @MockBean OrderImportService orderImportService;
     @MockBean JwtAuthFilter jwtAuthFilter;
 
     @Test
     void listOrders_withFilters_ok() throws Exception {
         Page<Order> page = new PageImpl<>(List.of(), PageRequest.of(0,10), 0);
-        Mockito.when(orderService.list(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(page);
+        Mockito.when(orderService.list(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(page);
         mockMvc.perform(MockMvcRequestBuilders.get("/api/orders").param("customerId","ALFKI").param("page","0").param("size","10"))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    @Test
+    void listOrders_byTotal_passesRangeAndSort() throws Exception {
+        Page<Order> page = new PageImpl<>(List.of(), PageRequest.of(0,10), 0);
+        Mockito.when(orderService.list(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                        Mockito.eq(new BigDecimal("100")), Mockito.isNull(), Mockito.isNull(), Mockito.isNull(),
+                        Mockito.argThat(p -> p.getSort().getOrderFor("orderTotal") != null && p.getSort().getOrderFor("orderTotal").isDescending())))
+                .thenReturn(page);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/orders").param("minTotal","100").param("sort","orderTotal,desc"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isArray());
+    }
+
+    @Test
+    void listOrders_unshippedLate_passesShippingFilters() throws Exception {
+        Page<Order> page = new PageImpl<>(List.of(), PageRequest.of(0,10), 0);
+        Mockito.when(orderService.list(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                        Mockito.eq(false), Mockito.eq(true), Mockito.any()))
+                .thenReturn(page);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/orders").param("shipped","false").param("late","true"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isArray());
+    }
+
+    @Test
+    void shippingStats_ok() throws Exception {
+        ShippingStatsDto stats = new ShippingStatsDto();
+        stats.shipped = 809;
+        stats.shippedOnTime = 772;
+        stats.shippedLate = 37;
+        stats.onTimePercent = new BigDecimal("95.4");
+        stats.unshipped = 21;
+        Mockito.when(orderService.shippingStats(null, null)).thenReturn(stats);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/orders/shipping-stats"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.onTimePercent").value(95.4))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.unshipped").value(21));
+    }
+
+    @Test
+    void listOrders_withCursor_usesKeysetMode() throws Exception {
+        Mockito.when(orderService.scroll(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq("xyz"), Mockito.any()))
+                .thenReturn(new CursorPage<>(List.of(), null));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/orders").param("after","xyz").param("size","10"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isArray());
+    }
+
     @Test
     void orderSummary_ok() throws Exception {
-        Mockito.when(orderService.get(Mockito.anyInt())).thenReturn(new Order());
-        Mockito.when(orderService.computeTotal(Mockito.anyInt())).thenReturn(BigDecimal.ZERO);
-        Mockito.when(orderDetailService.list(Mockito.anyInt())).thenReturn(List.of());
+        OrderSummaryDto summary = new OrderSummaryDto();
+        summary.orderId = 10248;
+        summary.items = List.of();
+        summary.total = BigDecimal.ZERO;
+        Mockito.when(orderService.summary(10248)).thenReturn(summary);
         mockMvc.perform(MockMvcRequestBuilders.get("/api/orders/10248/summary"))
-                .andExpect(MockMvcResultMatchers.status().isOk());
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.orderId").value(10248));
+    }
+
+    @Test
+    void orderTotals_byIds() throws Exception {
+        Mockito.when(orderService.totals(List.of(10248, 10249))).thenReturn(Map.of(10248, new BigDecimal("440.00"), 10249, BigDecimal.ZERO));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/orders/totals").param("ids","10248,10249"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.10248").value(440.00));
+    }
+
+    @Test
+    void createOrder_withLines_usesSingleTransactionPath() throws Exception {
+        Order created = new Order(); created.setId(11078);
+        Mockito.when(orderService.create(Mockito.any(Order.class), Mockito.argThat(lines -> lines.size() == 2))).thenReturn(created);
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/orders")
+                        .contentType("application/json")
+                        .content("{\"customerId\":\"ALFKI\",\"details\":[{\"productId\":1,\"unitPrice\":18,\"quantity\":2},{\"productId\":2,\"unitPrice\":19,\"quantity\":1}]}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(11078));
+        Mockito.verify(orderService, Mockito.never()).create(Mockito.any(Order.class));
+    }
+
+    @Test
+    void importOrders_ndjson_returnsReport() throws Exception {
+        OrderImportReport report = new OrderImportReport();
+        report.orders = 2;
+        report.lines = 3;
+        Mockito.when(orderImportService.importNdjson(Mockito.any(), Mockito.eq(false))).thenReturn(report);
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/orders/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"orderId\":20001,\"customerId\":\"ALFKI\"}\n{\"orderId\":20002,\"customerId\":\"ANATR\"}\n"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.orders").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lines").value(3));
+    }
+
+    @Test
+    void importOrders_partialFailure_returnsCommittedReport() throws Exception {
+        OrderImportReport report = new OrderImportReport();
+        report.orders = 5000;
+        report.lastCommittedOrderId = 25000;
+        report.failedAtRecord = 5001L;
+        Mockito.when(orderImportService.importNdjson(Mockito.any(), Mockito.eq(false)))
+                .thenThrow(new OrderImportException(report, new BadRequestException("Orders already exist: [25001]")));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/orders/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"orderId\":25001}\n"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.report.orders").value(5000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.report.lastCommittedOrderId").value(25000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.report.failedAtRecord").value(5001));
     }
 }
@@ -1,7 +1,13 @@
 package com.example.northwind;
 
 import com.example.northwind.controller.ProductController;
+import com.example.northwind.dto.CursorPage;
+import com.example.northwind.dto.ProductFacetsDto;
+import com.example.northwind.dto.ProductListItem;
+import com.example.northwind.dto.ProductSuggestion;
 import com.example.northwind.entity.Product;
+import com.example.northwind.entity.ProductReview;
+import com.example.northwind.service.ProductReviewIngestService;
 import com.example.northwind.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -24,13 +30,88 @@ import java.util.List;
 class ProductControllerTest {
     @Autowired MockMvc mockMvc;
     @MockBean ProductService productService;
+    @MockBean ProductReviewIngestService reviewIngestService;
     @MockBean JwtAuthFilter jwtAuthFilter;
 
     @Test
     void listProducts_withFilters_ok() throws Exception {
-        Page<Product> page = new PageImpl<>(List.of(), PageRequest.of(0,10), 0);
-        Mockito.when(productService.list(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(page);
-        mockMvc.perform(MockMvcRequestBuilders.get("/api/products").param("q","tea").param("page","0").param("size","10"))
+        Page<ProductListItem> page = new PageImpl<>(List.of(), PageRequest.of(0,10), 0);
+        Mockito.when(productService.list(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(page);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products").param("q","tea").param("variantColor","Red").param("page","0").param("size","10"))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
+
+    @Test
+    void facets_ok() throws Exception {
+        ProductFacetsDto facets = new ProductFacetsDto();
+        facets.total = 3;
+        facets.categories.put(1, 3L);
+        Mockito.when(productService.facets(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(facets);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/facets").param("q","tea"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.categories.1").value(3));
+    }
+
+    @Test
+    void suggest_ok() throws Exception {
+        Mockito.when(productService.suggest("cha", 10)).thenReturn(List.of(new ProductSuggestion(1, "Chai"), new ProductSuggestion(2, "Chang")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/suggest").param("prefix","cha"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].name").value("Chang"));
+    }
+
+    @Test
+    void getProductsByIds_bindsIdsAndRendersServiceResult() throws Exception {
+        Product first = new Product(); first.setId(3);
+        Product second = new Product(); second.setId(1);
+        Mockito.when(productService.getAll(List.of(3, 1))).thenReturn(List.of(first, second));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products").param("ids","3,1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(1));
+    }
+
+    @Test
+    void listProducts_withCursor_usesKeysetMode() throws Exception {
+        Mockito.when(productService.scroll(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(""), Mockito.any()))
+                .thenReturn(new CursorPage<>(List.of(), "abc"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products").param("after","").param("size","10"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void reviews_withCursor_returnsPage() throws Exception {
+        ProductReview review = new ProductReview(); review.setId(7L); review.setProductId(1);
+        Mockito.when(productService.scrollReviews(Mockito.eq(1), Mockito.eq(""), Mockito.argThat(p -> p.getPageSize() == 20)))
+                .thenReturn(new CursorPage<>(List.of(review), "next"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/1/reviews").param("after","").param("size","20"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(7))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void bulkReviews_created() throws Exception {
+        Mockito.when(reviewIngestService.ingest(Mockito.argThat(l -> l.size() == 2))).thenReturn(2);
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/products/reviews/bulk")
+                        .contentType("application/json")
+                        .content("[{\"productId\":1,\"customerName\":\"Ann\",\"rating\":5},{\"productId\":2,\"customerName\":\"Bo\",\"rating\":3}]"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.inserted").value(2));
+    }
+
+    @Test
+    void listProducts_includeRatings_attachesSummary() throws Exception {
+        ProductListItem item = new ProductListItem(); item.id = 1;
+        Page<ProductListItem> page = new PageImpl<>(List.of(item), PageRequest.of(0,10), 1);
+        Mockito.when(productService.list(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(page);
+        Mockito.doAnswer(inv -> { ProductListItem row = inv.<List<ProductListItem>>getArgument(0).get(0); row.averageRating = 4.5; row.reviewCount = 2L; return null; })
+                .when(productService).attachRatings(Mockito.anyList());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products").param("includeRatings","true"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].averageRating").value(4.5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].reviewCount").value(2));
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** customer_metrics (V15) rebuilt from the seeded orders: lifetime value and RFM quintiles. */
+public class CustomerMetricsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonNode refresh;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String adminToken = loginAndGetToken("admin", "x");
+        ResponseEntity<String> response = restTemplate.exchange(getApiUrl("/customers/metrics/refresh"), HttpMethod.POST,
+            new HttpEntity<>(createAuthHeaders(adminToken)), String.class);
+        assertResponseStatus(response, 200);
+        refresh = objectMapper.readTree(response.getBody());
+    }
+
+    @Test
+    void refresh_coversEveryCustomerWithOrders() {
+        int customers = jdbcTemplate.queryForObject("SELECT count(DISTINCT customer_id) FROM orders WHERE customer_id IS NOT NULL", Integer.class);
+        assertEquals(customers, refresh.get("customers").asInt());
+        assertEquals(customers, jdbcTemplate.queryForObject("SELECT count(*) FROM customer_metrics", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM customer_metrics m JOIN (SELECT customer_id, count(*) AS n, sum(order_total) AS ltv FROM orders GROUP BY 1) o " +
+            "ON o.customer_id = m.customer_id WHERE m.order_count <> o.n OR m.lifetime_value <> o.ltv", Integer.class));
+    }
+
+    @Test
+    void scores_areQuintilesOfTheDistribution() {
+        // ties share a score, so buckets can be skipped, but the extremes always land on 1 and 5
+        for (String score : List.of("recency_score", "frequency_score", "monetary_score")) {
+            assertEquals(Map.of("lo", 1, "hi", 5), jdbcTemplate.queryForMap(
+                "SELECT min(" + score + ")::int AS lo, max(" + score + ")::int AS hi FROM customer_metrics"), score);
+        }
+        // within each dimension a higher score never means a worse value
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM customer_metrics a JOIN customer_metrics b ON a.frequency_score > b.frequency_score WHERE a.order_count < b.order_count", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM customer_metrics a JOIN customer_metrics b ON a.monetary_score > b.monetary_score WHERE a.lifetime_value < b.lifetime_value", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM customer_metrics a JOIN customer_metrics b ON a.recency_score > b.recency_score WHERE a.recency_days > b.recency_days", Integer.class));
+    }
+
+    @Test
+    void segment_andRecency_followFromScoresAndAsOfDate() {
+        Map<String, Object> top = jdbcTemplate.queryForMap(
+            "SELECT customer_id, rfm_segment, recency_score::text || frequency_score || monetary_score AS expected, " +
+            "as_of_date - last_order_date AS days, recency_days FROM customer_metrics ORDER BY lifetime_value DESC LIMIT 1");
+        assertEquals(top.get("expected"), top.get("rfm_segment"));
+        assertEquals(((Number) top.get("days")).intValue(), ((Number) top.get("recency_days")).intValue());
+        assertEquals(jdbcTemplate.queryForObject("SELECT max(order_date) FROM orders", LocalDate.class),
+            jdbcTemplate.queryForObject("SELECT DISTINCT as_of_date FROM customer_metrics", LocalDate.class));
+    }
+}
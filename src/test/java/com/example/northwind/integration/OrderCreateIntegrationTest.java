@@ -0,0 +1,82 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Order plus lines in one transaction, with the id drawn from the orders identity (V18). */
+public class OrderCreateIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String staffToken;
+    private Integer createdId;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        staffToken = loginAndGetToken("staff", "x");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (createdId == null) return;
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id = ?", createdId);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = ?", createdId);
+    }
+
+    @Test
+    void createWithLines_insertsOrderAndEveryLine() throws Exception {
+        String body = "{\"customerId\":\"ALFKI\",\"employeeId\":1,\"orderDate\":\"2031-07-01\",\"details\":[" +
+            "{\"productId\":1,\"unitPrice\":18,\"quantity\":2}," +
+            "{\"productId\":2,\"unitPrice\":19,\"quantity\":1,\"discount\":0.5}," +
+            "{\"productId\":3,\"unitPrice\":10,\"quantity\":3}]}";
+        ResponseEntity<String> response = restTemplate.exchange(getApiUrl("/orders"), HttpMethod.POST,
+            new HttpEntity<>(body, createAuthHeaders(staffToken)), String.class);
+        assertResponseStatus(response, 201);
+        JsonNode order = objectMapper.readTree(response.getBody());
+        createdId = order.get("id").asInt();
+
+        // the identity starts after the seeded Northwind ids (10248-11077)
+        assertTrue(createdId > 11077, "generated id " + createdId);
+        assertEquals(List.of(1, 2, 3), jdbcTemplate.queryForList(
+            "SELECT product_id::int FROM order_details WHERE order_id = ? ORDER BY product_id", Integer.class, createdId));
+        // 36 + 9.50 + 30, maintained by the V13 triggers and re-read after the flush
+        assertEquals(0, new BigDecimal("75.50").compareTo(order.get("orderTotal").decimalValue()));
+        assertEquals(3, order.get("lineCount").asInt());
+    }
+
+    @Test
+    void createWithUnknownProduct_leavesNoOrderBehind() {
+        long before = jdbcTemplate.queryForObject("SELECT count(*) FROM orders", Long.class);
+        String body = "{\"customerId\":\"ALFKI\",\"details\":[{\"productId\":1,\"unitPrice\":18,\"quantity\":2},{\"productId\":32766,\"unitPrice\":1,\"quantity\":1}]}";
+        ResponseEntity<String> response = restTemplate.exchange(getApiUrl("/orders"), HttpMethod.POST,
+            new HttpEntity<>(body, createAuthHeaders(staffToken)), String.class);
+        assertTrue(response.getStatusCode().isError());
+        assertEquals(before, jdbcTemplate.queryForObject("SELECT count(*) FROM orders", Long.class));
+    }
+
+    @Test
+    void batchRewrite_isSetOnTheDataSourceNotTheUrl() throws Exception {
+        // the test profile replaces the URL, so the property must come from the Hikari data source properties
+        assertEquals("true", dataSource.unwrap(HikariDataSource.class).getDataSourceProperties().getProperty("reWriteBatchedInserts"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** NDJSON order import: failure reports, resuming with skipExisting, orderId validation and the orders identity. */
+public class OrderImportIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        adminToken = loginAndGetToken("admin", "x");
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id BETWEEN 30201 AND 30203 OR order_id = 40000");
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id BETWEEN 30201 AND 30203 OR order_id = 40000");
+    }
+
+    private ResponseEntity<String> importOrders(String query, int... orderIds) {
+        StringBuilder body = new StringBuilder();
+        for (int orderId : orderIds) {
+            body.append("{\"orderId\":").append(orderId)
+                .append(",\"customerId\":\"ALFKI\",\"employeeId\":1,\"orderDate\":\"2031-04-01\",")
+                .append("\"details\":[{\"productId\":1,\"unitPrice\":18,\"quantity\":2}]}\n");
+        }
+        return restTemplate.exchange(getApiUrl("/orders/import" + query), HttpMethod.POST,
+            new HttpEntity<>(body.toString(), createAuthHeaders(adminToken)), String.class);
+    }
+
+    @Test
+    void retryAfterPartialImport_failsWithReport_unlessSkipExisting() throws Exception {
+        assertResponseStatus(importOrders("", 30201, 30202), 200);
+
+        ResponseEntity<String> retry = importOrders("", 30201, 30202, 30203);
+        assertResponseStatus(retry, 400);
+        JsonNode report = objectMapper.readTree(retry.getBody()).get("report");
+        assertEquals(0, report.get("orders").asInt());
+        assertEquals(1, report.get("failedAtRecord").asInt());
+        assertTrue(report.get("error").asText().contains("already exist"));
+
+        ResponseEntity<String> resumed = importOrders("?skipExisting=true", 30201, 30202, 30203);
+        assertResponseStatus(resumed, 200);
+        JsonNode done = objectMapper.readTree(resumed.getBody());
+        assertEquals(1, done.get("orders").asInt());
+        assertEquals(2, done.get("skipped").asInt());
+        assertEquals(30203, done.get("lastCommittedOrderId").asInt());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE order_id BETWEEN 30201 AND 30203", Integer.class));
+    }
+
+    @Test
+    void nonPositiveOrderId_isRejectedWithRecordNumber() throws Exception {
+        ResponseEntity<String> response = importOrders("", 30201, 0);
+        assertResponseStatus(response, 400);
+        assertTrue(objectMapper.readTree(response.getBody()).get("message").asText().startsWith("Record 2: orderId"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE order_id = 30201", Integer.class));
+    }
+
+    @Test
+    void importBeyondSmallint_movesTheIdentityPastImportedIds() {
+        assertResponseStatus(importOrders("", 40000), 200);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE order_id = 40000", Integer.class));
+        long next = jdbcTemplate.queryForObject("SELECT nextval(pg_get_serial_sequence('orders', 'order_id'))", Long.class);
+        assertTrue(next > 40000, "identity would hand out an imported id: " + next);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Stored order totals (V13): one rounded value per order, which every total endpoint reports. */
+public class OrderTotalsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String staffToken;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        staffToken = loginAndGetToken("staff", "x");
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id IN (30101, 30102)");
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id IN (30101, 30102)");
+        // 0.125 is exact in a real column: each order rounds to 0.13, while the raw line sum is 0.25
+        for (int orderId : new int[] {30101, 30102}) {
+            jdbcTemplate.update("INSERT INTO orders (order_id, customer_id, employee_id, order_date) VALUES (?, 'ALFKI', 1, DATE '2031-03-01')", orderId);
+            jdbcTemplate.update("INSERT INTO order_details (order_id, product_id, unit_price, quantity, discount) VALUES (?, 1, 0.125, 1, 0)", orderId);
+        }
+    }
+
+    private JsonNode get(String endpoint) throws Exception {
+        ResponseEntity<String> response = restTemplate.exchange(
+            getApiUrl(endpoint), HttpMethod.GET, new HttpEntity<>(createAuthHeaders(staffToken)), String.class);
+        assertResponseStatus(response, 200);
+        return objectMapper.readTree(response.getBody());
+    }
+
+    @Test
+    void lineTriggers_storeRoundedTotalAndLineCount() {
+        assertEquals(new BigDecimal("0.13"), jdbcTemplate.queryForObject("SELECT order_total FROM orders WHERE order_id = 30101", BigDecimal.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT line_count FROM orders WHERE order_id = 30101", Integer.class));
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id = 30101");
+        assertEquals(new BigDecimal("0.00"), jdbcTemplate.queryForObject("SELECT order_total FROM orders WHERE order_id = 30101", BigDecimal.class));
+    }
+
+    @Test
+    void summaryTotal_isSumOfRoundedOrderTotals() throws Exception {
+        JsonNode total = get("/orders/summary/total?customerId=ALFKI&from=2031-03-01&to=2031-03-01");
+        assertEquals(new BigDecimal("0.26"), total.decimalValue());
+    }
+
+    @Test
+    void orderEndpoints_agreeOnTheStoredTotal() throws Exception {
+        assertEquals(new BigDecimal("0.13"), get("/orders/totals?ids=30101").get("30101").decimalValue());
+        assertEquals(new BigDecimal("0.13"), get("/orders/30101/summary").get("total").decimalValue());
+        assertEquals(new BigDecimal("0.13"), get("/orders/30101/details/summary/total").decimalValue());
+    }
+}
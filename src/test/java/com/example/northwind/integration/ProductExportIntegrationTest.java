@@ -0,0 +1,70 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Full-catalog export streamed from a forward-only cursor, as NDJSON and CSV. */
+public class ProductExportIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products WHERE product_id = 32041");
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, supplier_id, category_id, unit_price, discontinued, variants, description) " +
+            "VALUES (32041, 'Export, \"Special\"', 1, 1, 10, 0, '{\"colors\":[\"red\"]}'::jsonb, 'two\nlines')");
+    }
+
+    private String export(String format) {
+        ResponseEntity<String> response = restTemplate.getForEntity(getApiUrl("/products/export?format=" + format), String.class);
+        assertResponseStatus(response, 200);
+        return response.getBody();
+    }
+
+    private int productCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM products", Integer.class);
+    }
+
+    @Test
+    void ndjson_hasOneProductPerLineInIdOrder() throws Exception {
+        String[] lines = export("ndjson").split("\n");
+        assertEquals(productCount(), lines.length);
+        List<Integer> ids = new ArrayList<>();
+        JsonNode exported = null;
+        for (String line : lines) {
+            JsonNode product = objectMapper.readTree(line);
+            ids.add(product.get("id").asInt());
+            if (product.get("id").asInt() == 32041) exported = product;
+        }
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertNotNull(exported);
+        assertEquals("Export, \"Special\"", exported.get("productName").asText());
+        assertEquals("red", exported.get("variants").get("colors").get(0).asText());
+    }
+
+    @Test
+    void csv_quotesValuesWithSeparators() {
+        String csv = export("csv");
+        assertTrue(csv.startsWith("id,name,categoryId,supplierId,"));
+        assertTrue(csv.contains("\n32041,\"Export, \"\"Special\"\"\",1,1,"));
+        assertTrue(csv.contains(",\"two\nlines\"\n"));
+    }
+
+    @Test
+    void unknownFormat_isBadRequest() {
+        assertResponseStatus(restTemplate.getForEntity(getApiUrl("/products/export?format=xml"), String.class), 400);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Reorder report (V10): at or below a non-zero reorder level, active products only, matching the partial index. */
+public class ProductReorderIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products WHERE product_id BETWEEN 32011 AND 32015");
+        insert(32011, 4, 6, 10, 0);   // exactly at the level
+        insert(32012, 3, 0, 10, 0);   // below
+        insert(32013, 11, 0, 10, 0);  // above
+        insert(32014, 0, 0, 0, 0);    // not restocked
+        insert(32015, 0, 0, 10, 1);   // discontinued
+    }
+
+    private void insert(int id, int stock, int onOrder, int level, int discontinued) {
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, supplier_id, category_id, unit_price, units_in_stock, units_on_order, reorder_level, discontinued) " +
+            "VALUES (?, ?, 1, 1, 10, ?, ?, ?, ?)", id, "Reorder " + id, stock, onOrder, level, discontinued);
+    }
+
+    @Test
+    void reorder_listsOnlyRestockedActiveProductsAtOrBelowLevel() throws Exception {
+        ResponseEntity<String> response = restTemplate.getForEntity(getApiUrl("/products/reorder"), String.class);
+        assertResponseStatus(response, 200);
+        Set<Integer> ids = new HashSet<>();
+        for (JsonNode group : objectMapper.readTree(response.getBody())) {
+            group.get("products").forEach(p -> ids.add(p.get("productId").asInt()));
+        }
+        assertTrue(ids.contains(32011));
+        assertTrue(ids.contains(32012));
+        assertFalse(ids.contains(32013));
+        assertFalse(ids.contains(32014));
+        assertFalse(ids.contains(32015));
+    }
+
+    @Test
+    void reorderIndex_predicateMatchesQuery() {
+        String indexDef = jdbcTemplate.queryForObject("SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_products_reorder_gap'", String.class);
+        assertTrue(indexDef.contains("reorder_level > 0"), indexDef);
+        assertTrue(indexDef.contains("discontinued = 0"), indexDef);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Bulk review ingest: unnest() inserts in chunks of 1000, all-or-nothing, stats updated by the V11 triggers. */
+public class ProductReviewIngestIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String staffToken;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        staffToken = loginAndGetToken("staff", "x");
+        jdbcTemplate.update("DELETE FROM product_reviews WHERE product_id = 32061");
+        jdbcTemplate.update("DELETE FROM product_review_stats WHERE product_id = 32061");
+        jdbcTemplate.update("DELETE FROM products WHERE product_id = 32061");
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, supplier_id, category_id, unit_price, discontinued) VALUES (32061, 'Ingested', 1, 1, 10, 0)");
+    }
+
+    private ResponseEntity<String> ingest(String body) {
+        return restTemplate.exchange(getApiUrl("/products/reviews/bulk"), HttpMethod.POST,
+            new HttpEntity<>(body, createAuthHeaders(staffToken)), String.class);
+    }
+
+    private int reviewCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM product_reviews WHERE product_id = 32061", Integer.class);
+    }
+
+    @Test
+    void ingest_acrossChunks_insertsEveryReviewAndUpdatesStats() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 2500; i++) {
+            if (i > 0) body.append(',');
+            body.append("{\"productId\":32061,\"customerName\":\"c").append(i).append("\",\"rating\":").append(i % 5 + 1);
+            // every other review carries its own timestamp; the rest default to the request time
+            if (i % 2 == 0) body.append(",\"createdAt\":\"2031-06-01T12:00:00\"");
+            body.append('}');
+        }
+        body.append(']');
+
+        ResponseEntity<String> response = ingest(body.toString());
+        assertResponseStatus(response, 201);
+        JsonNode result = objectMapper.readTree(response.getBody());
+        assertEquals(2500, result.get("inserted").asInt());
+        assertEquals(2500, reviewCount());
+        assertEquals(1250, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM product_reviews WHERE product_id = 32061 AND created_at = TIMESTAMP '2031-06-01 12:00'", Integer.class));
+        assertEquals(2500L, jdbcTemplate.queryForObject("SELECT review_count FROM product_review_stats WHERE product_id = 32061", Long.class));
+        assertEquals(7500L, jdbcTemplate.queryForObject("SELECT rating_sum FROM product_review_stats WHERE product_id = 32061", Long.class));
+    }
+
+    @Test
+    void ingest_withAnInvalidReview_insertsNothing() {
+        ResponseEntity<String> response = ingest("[{\"productId\":32061,\"customerName\":\"ok\",\"rating\":5}," +
+            "{\"productId\":32061,\"customerName\":\"bad\",\"rating\":6}]");
+        assertResponseStatus(response, 400);
+        assertEquals(0, reviewCount());
+    }
+
+    @Test
+    void ingest_withUnknownProduct_insertsNothing() {
+        ResponseEntity<String> response = ingest("[{\"productId\":32061,\"customerName\":\"ok\",\"rating\":5}," +
+            "{\"productId\":32999,\"customerName\":\"x\",\"rating\":3}]");
+        assertResponseStatus(response, 400);
+        assertTrue(response.getBody().contains("32999"));
+        assertEquals(0, reviewCount());
+    }
+}
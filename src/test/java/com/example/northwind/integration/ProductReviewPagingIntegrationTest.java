@@ -0,0 +1,58 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Newest-first review keyset paging over a NOT NULL created_at (V12). */
+public class ProductReviewPagingIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM product_reviews WHERE product_id = 32021");
+        jdbcTemplate.update("DELETE FROM products WHERE product_id = 32021");
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, supplier_id, category_id, unit_price, discontinued) VALUES (32021, 'Reviewed', 1, 1, 10, 0)");
+        // two reviews share a timestamp, so the id has to break the tie across the page boundary
+        for (String at : new String[] {"2031-01-01 10:00", "2031-01-02 10:00", "2031-01-02 10:00"}) {
+            jdbcTemplate.update("INSERT INTO product_reviews (product_id, customer_name, rating, created_at) VALUES (32021, 'c', 4, ?::timestamp)", at);
+        }
+    }
+
+    @Test
+    void createdAt_isRequired() {
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+            "INSERT INTO product_reviews (product_id, customer_name, rating, created_at) VALUES (32021, 'c', 4, NULL)"));
+    }
+
+    @Test
+    void keysetPages_returnEveryReviewOnceNewestFirst() throws Exception {
+        List<Long> expected = jdbcTemplate.queryForList(
+            "SELECT id FROM product_reviews WHERE product_id = 32021 ORDER BY created_at DESC, id DESC", Long.class);
+        List<Long> seen = new ArrayList<>();
+        String after = "";
+        do {
+            ResponseEntity<String> response = restTemplate.getForEntity(
+                getApiUrl("/products/32021/reviews?size=2&after=" + after), String.class);
+            assertResponseStatus(response, 200);
+            JsonNode page = objectMapper.readTree(response.getBody());
+            page.get("content").forEach(r -> seen.add(r.get("id").asLong()));
+            after = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (after != null);
+        assertEquals(expected, seen);
+    }
+}
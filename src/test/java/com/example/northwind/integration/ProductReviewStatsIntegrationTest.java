@@ -0,0 +1,87 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** product_review_stats (V11) kept in step by statement-level triggers on product_reviews. */
+public class ProductReviewStatsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM product_reviews WHERE product_id IN (32051, 32052)");
+        jdbcTemplate.update("DELETE FROM product_review_stats WHERE product_id IN (32051, 32052)");
+        jdbcTemplate.update("DELETE FROM products WHERE product_id IN (32051, 32052)");
+        for (int id : new int[] {32051, 32052}) {
+            jdbcTemplate.update("INSERT INTO products (product_id, product_name, supplier_id, category_id, unit_price, discontinued) VALUES (?, 'Rated', 1, 1, 10, 0)", id);
+        }
+        // one multi-row statement: the trigger folds the whole transition table at once
+        jdbcTemplate.update("INSERT INTO product_reviews (product_id, customer_name, rating) VALUES " +
+            "(32051, 'a', 5), (32051, 'b', 4), (32051, 'c', 4), (32052, 'd', 1)");
+    }
+
+    private Map<String, Object> stats(int productId) {
+        return jdbcTemplate.queryForMap("SELECT review_count, rating_sum, rating_1, rating_4, rating_5 FROM product_review_stats WHERE product_id = ?", productId);
+    }
+
+    /** The aggregate row always equals a fresh count over product_reviews. */
+    private void assertMatchesReviews(int productId) {
+        Map<String, Object> expected = jdbcTemplate.queryForMap(
+            "SELECT count(*) AS review_count, coalesce(sum(rating), 0) AS rating_sum, count(*) FILTER (WHERE rating = 1) AS rating_1, " +
+            "count(*) FILTER (WHERE rating = 4) AS rating_4, count(*) FILTER (WHERE rating = 5) AS rating_5 FROM product_reviews WHERE product_id = ?", productId);
+        Map<String, Object> actual = stats(productId);
+        for (String column : List.of("review_count", "rating_sum", "rating_1", "rating_4", "rating_5")) {
+            assertEquals(((Number) expected.get(column)).longValue(), ((Number) actual.get(column)).longValue(), column);
+        }
+    }
+
+    @Test
+    void insert_addsCountsPerProduct() {
+        assertEquals(3L, ((Number) stats(32051).get("review_count")).longValue());
+        assertEquals(13L, ((Number) stats(32051).get("rating_sum")).longValue());
+        assertEquals(2L, ((Number) stats(32051).get("rating_4")).longValue());
+        assertMatchesReviews(32052);
+    }
+
+    @Test
+    void update_movesRatingsAndProducts() {
+        jdbcTemplate.update("UPDATE product_reviews SET rating = 1 WHERE product_id = 32051 AND rating = 4");
+        jdbcTemplate.update("UPDATE product_reviews SET product_id = 32052 WHERE product_id = 32051 AND rating = 5");
+        assertMatchesReviews(32051);
+        assertMatchesReviews(32052);
+        assertEquals(2L, ((Number) stats(32051).get("rating_1")).longValue());
+        assertEquals(1L, ((Number) stats(32052).get("rating_5")).longValue());
+    }
+
+    @Test
+    void delete_subtractsCounts() {
+        jdbcTemplate.update("DELETE FROM product_reviews WHERE product_id = 32051 AND rating = 4");
+        assertMatchesReviews(32051);
+        assertEquals(1L, ((Number) stats(32051).get("review_count")).longValue());
+    }
+
+    @Test
+    void statsEndpoint_readsTheAggregate() throws Exception {
+        ResponseEntity<String> response = restTemplate.getForEntity(getApiUrl("/products/32051/reviews/stats"), String.class);
+        assertResponseStatus(response, 200);
+        JsonNode stats = objectMapper.readTree(response.getBody());
+        assertEquals(3, stats.get("reviewCount").asInt());
+        assertEquals(13.0 / 3, stats.get("averageRating").asDouble(), 0.01);
+        assertEquals(2, stats.get("histogram").get("4").asInt());
+        assertEquals(0, stats.get("histogram").get("2").asInt());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Trigram search (V8): substring matches on three columns, relevance ranking without an explicit sort. */
+public class ProductSearchIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products WHERE product_id BETWEEN 32001 AND 32003");
+        // 32001 only mentions the term in its description; 32003 has it in the name
+        insert(32001, "Plain Biscuit", "goes well with zyxquartz tea", null);
+        insert(32002, "Oat Cracker", null, null);
+        insert(32003, "Zyxquartz Blend", null, "a zyxquartz infusion");
+    }
+
+    private void insert(int id, String name, String description, String detailed) {
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, supplier_id, category_id, unit_price, discontinued, description, detailed_description) " +
+            "VALUES (?, ?, 1, 1, 10, 0, ?, ?)", id, name, description, detailed);
+    }
+
+    private JsonNode get(String endpoint) throws Exception {
+        ResponseEntity<String> response = restTemplate.getForEntity(getApiUrl(endpoint), String.class);
+        assertResponseStatus(response, 200);
+        return objectMapper.readTree(response.getBody());
+    }
+
+    private static List<Integer> ids(JsonNode page) {
+        List<Integer> ids = new ArrayList<>();
+        page.get("content").forEach(p -> ids.add(p.get("id").asInt()));
+        return ids;
+    }
+
+    @Test
+    void search_withoutSort_ranksNameMatchesFirst() throws Exception {
+        JsonNode page = get("/products?q=ZyxQuartz");
+        assertEquals(List.of(32003, 32001), ids(page));
+        assertEquals(2, page.get("totalElements").asInt());
+    }
+
+    @Test
+    void search_withSort_usesRequestedOrder() throws Exception {
+        assertEquals(List.of(32001, 32003), ids(get("/products?q=zyxquartz&sort=id")));
+    }
+
+    @Test
+    void facets_withSearchTerm_countMatches() throws Exception {
+        assertEquals(2, get("/products/facets?q=zyxquartz").get("total").asInt());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.northwind.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** jsonb variants (V9): typed on the product, filtered by containment in the list. */
+public class ProductVariantsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM products WHERE product_id BETWEEN 32031 AND 32032");
+        insert(32031, "{\"colors\":[\"zx-teal\",\"zx-plum\"],\"sizes\":[\"S\",\"M\"]}");
+        insert(32032, "{\"colors\":[\"zx-plum\"],\"sizes\":[\"L\"]}");
+    }
+
+    private void insert(int id, String variants) {
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, supplier_id, category_id, unit_price, discontinued, variants) " +
+            "VALUES (?, ?, 1, 1, 10, 0, ?::jsonb)", id, "Variant " + id, variants);
+    }
+
+    private JsonNode get(String endpoint) throws Exception {
+        ResponseEntity<String> response = restTemplate.getForEntity(getApiUrl(endpoint), String.class);
+        assertResponseStatus(response, 200);
+        return objectMapper.readTree(response.getBody());
+    }
+
+    private List<Integer> listIds(String query) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        get("/products?sort=id&" + query).get("content").forEach(p -> ids.add(p.get("id").asInt()));
+        return ids;
+    }
+
+    @Test
+    void product_exposesVariantsAsTypedObject() throws Exception {
+        JsonNode variants = get("/products/32031").get("variants");
+        assertTrue(variants.get("colors").isArray());
+        assertEquals("zx-teal", variants.get("colors").get(0).asText());
+        assertEquals(2, variants.get("sizes").size());
+    }
+
+    @Test
+    void list_filtersByVariantColorAndSize() throws Exception {
+        assertEquals(List.of(32031), listIds("variantColor=zx-teal"));
+        assertEquals(List.of(32031, 32032), listIds("variantColor=zx-plum"));
+        assertEquals(List.of(32032), listIds("variantColor=zx-plum&variantSize=L"));
+        assertEquals(List.of(), listIds("variantColor=zx-teal&variantSize=L"));
+    }
+}
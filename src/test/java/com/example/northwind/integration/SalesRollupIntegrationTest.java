@@ -0,0 +1,127 @@
+package com.example.northwind.integration;
+
+import com.example.northwind.service.SalesRollupService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** sales_daily_rollup and sales_daily_orders (V14): triggers mark dirty days, SalesRollupService claims and recomputes them. */
+@TestPropertySource(properties = "northwind.analytics.rollup.interval=PT1H")
+public class SalesRollupIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id = 30301");
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = 30301");
+        rollupService.refreshDirtyDays();
+        jdbcTemplate.update("INSERT INTO orders (order_id, customer_id, employee_id, order_date) VALUES (30301, 'ALFKI', 1, DATE '2032-01-15')");
+        // both lines are in category 1, so they land in one rollup row
+        jdbcTemplate.update("INSERT INTO order_details (order_id, product_id, unit_price, quantity, discount) VALUES (30301, 1, 10, 2, 0), (30301, 2, 5, 1, 0)");
+    }
+
+    private List<String> dirtyDays() {
+        return jdbcTemplate.queryForList("SELECT sales_date::text FROM sales_rollup_dirty_days WHERE sales_date >= DATE '2032-01-01' ORDER BY 1", String.class);
+    }
+
+    private BigDecimal rolledUpRevenue(String day) {
+        return jdbcTemplate.queryForObject("SELECT sum(revenue) FROM sales_daily_rollup WHERE sales_date = ?::date", BigDecimal.class, day);
+    }
+
+    @Test
+    void writes_markDaysDirty_andRefreshRecomputesThem() {
+        assertEquals(List.of("2032-01-15"), dirtyDays());
+        assertNull(rolledUpRevenue("2032-01-15"));
+
+        assertEquals(1, rollupService.refreshBatch());
+        assertTrue(dirtyDays().isEmpty());
+        assertEquals(0, new BigDecimal("25.00").compareTo(rolledUpRevenue("2032-01-15")));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT order_count FROM sales_daily_rollup WHERE sales_date = DATE '2032-01-15' AND category_id = 1", Long.class));
+    }
+
+    @Test
+    void dateChange_marksOldAndNewDay() {
+        rollupService.refreshDirtyDays();
+        jdbcTemplate.update("UPDATE orders SET order_date = DATE '2032-01-16' WHERE order_id = 30301");
+        assertEquals(List.of("2032-01-15", "2032-01-16"), dirtyDays());
+
+        rollupService.refreshDirtyDays();
+        assertNull(rolledUpRevenue("2032-01-15"));
+        assertEquals(0, new BigDecimal("25.00").compareTo(rolledUpRevenue("2032-01-16")));
+    }
+
+    @Test
+    void claim_skipsDaysLockedByAnotherRefresh() throws Exception {
+        jdbcTemplate.update("INSERT INTO sales_rollup_dirty_days VALUES (DATE '2032-02-01')");
+        Integer claimedElsewhere = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList("SELECT sales_date FROM sales_rollup_dirty_days WHERE sales_date = DATE '2032-01-15' FOR UPDATE");
+            // a second worker on its own connection takes only the unlocked day
+            return CompletableFuture.supplyAsync(rollupService::refreshBatch).join();
+        });
+        assertEquals(1, claimedElsewhere);
+        assertEquals(List.of("2032-01-15"), dirtyDays());
+    }
+
+    @Test
+    void salesEndpoint_readsTheRollup() throws Exception {
+        rollupService.refreshDirtyDays();
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            getApiUrl("/analytics/sales?from=2032-01-15&to=2032-01-15&by=category"), String.class);
+        assertResponseStatus(response, 200);
+        JsonNode rows = objectMapper.readTree(response.getBody());
+        assertEquals(1, rows.size());
+        assertEquals(0, new BigDecimal("25.00").compareTo(rows.get(0).get("revenue").decimalValue()));
+        assertEquals(3, rows.get(0).get("quantity").asInt());
+    }
+
+    @Test
+    void orderSpanningTwoCategories_isCountedOnceUnlessSplitByCategory() throws Exception {
+        Integer otherCategoryProduct = jdbcTemplate.queryForObject(
+            "SELECT min(product_id) FROM products WHERE category_id <> (SELECT category_id FROM products WHERE product_id = 1)", Integer.class);
+        jdbcTemplate.update("INSERT INTO order_details (order_id, product_id, unit_price, quantity, discount) VALUES (30301, ?, 4, 1, 0)", otherCategoryProduct);
+        rollupService.refreshDirtyDays();
+
+        JsonNode byCategory = sales("by=category");
+        assertEquals(2, byCategory.size());
+        byCategory.forEach(row -> assertEquals(1, row.get("orderCount").asInt()));
+
+        JsonNode byEmployee = sales("by=employee");
+        assertEquals(1, byEmployee.size());
+        assertEquals(1, byEmployee.get(0).get("orderCount").asInt());
+        assertEquals(0, new BigDecimal("29.00").compareTo(byEmployee.get(0).get("revenue").decimalValue()));
+
+        JsonNode total = sales("period=day");
+        assertEquals(1, total.size());
+        assertEquals(1, total.get(0).get("orderCount").asInt());
+        assertEquals(4, total.get(0).get("quantity").asInt());
+    }
+
+    private JsonNode sales(String query) throws Exception {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            getApiUrl("/analytics/sales?from=2032-01-15&to=2032-01-15&" + query), String.class);
+        assertResponseStatus(response, 200);
+        return objectMapper.readTree(response.getBody());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.northwind.repository.spec;
+
+import com.example.northwind.entity.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSpecificationsTest {
+
+    @SuppressWarnings("unchecked")
+    private final Root<Product> root = Mockito.mock(Root.class, Mockito.RETURNS_MOCKS);
+    private final CriteriaQuery<?> cq = Mockito.mock(CriteriaQuery.class);
+    private final CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class, Mockito.RETURNS_MOCKS);
+
+    @Test
+    void search_isAPurePredicate() {
+        assertNotNull(ProductSpecifications.search("  Chai ").toPredicate(root, cq, cb));
+        Mockito.verifyNoInteractions(cq);
+        Mockito.verify(cb, Mockito.times(3)).like(Mockito.any(), Mockito.eq("%chai%"));
+    }
+
+    @Test
+    void search_blankTermMatchesEverything() {
+        ProductSpecifications.search(" ").toPredicate(root, cq, cb);
+        Mockito.verify(cb).conjunction();
+        Mockito.verify(cb, Mockito.never()).like(Mockito.any(), Mockito.anyString());
+    }
+
+    @Test
+    void relevance_ranksByScoreThenId_onlyWithATerm() {
+        assertTrue(ProductSpecifications.relevance(null, root, cb).isEmpty());
+        assertTrue(ProductSpecifications.relevance("", root, cb).isEmpty());
+        assertEquals(2, ProductSpecifications.relevance("chai", root, cb).size());
+        Mockito.verify(cb, Mockito.times(3)).function(Mockito.eq("word_similarity"), Mockito.eq(Double.class), Mockito.any(), Mockito.any());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.northwind.service;
+
+import com.example.northwind.entity.Order;
+import com.example.northwind.entity.Product;
+import com.example.northwind.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    private final CursorCodec codec = new CursorCodec(new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void encodeDecode_roundTripsKeysWithEntityTypes() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("orderTotal", new BigDecimal("440.5"));
+        keys.put("id", 10248);
+        String cursor = codec.encode(ScrollPosition.forward(keys));
+        KeysetScrollPosition decoded = codec.decode(cursor, Order.class);
+        assertEquals(keys, decoded.getKeys());
+    }
+
+    @Test
+    void decode_blankIsFirstPage() {
+        assertTrue(codec.decode("", Order.class).isInitial());
+    }
+
+    @Test
+    void decode_malformedCursor_isBadRequestWithCause() {
+        BadRequestException e = assertThrows(BadRequestException.class, () -> codec.decode("not base64 json!", Order.class));
+        assertNotNull(e.getCause());
+    }
+
+    @Test
+    void requireNonNullSort_acceptsIdsAndNonNullColumns() {
+        assertDoesNotThrow(() -> codec.requireNonNullSort(Sort.by("name", "id"), Product.class));
+        assertDoesNotThrow(() -> codec.requireNonNullSort(Sort.by("orderTotal"), Order.class));
+        assertDoesNotThrow(() -> codec.requireNonNullSort(Sort.unsorted(), Order.class));
+    }
+
+    @Test
+    void requireNonNullSort_rejectsNullableAndUnknownProperties() {
+        assertThrows(BadRequestException.class, () -> codec.requireNonNullSort(Sort.by("unitPrice"), Product.class));
+        assertThrows(BadRequestException.class, () -> codec.requireNonNullSort(Sort.by("orderDate"), Order.class));
+        assertThrows(BadRequestException.class, () -> codec.requireNonNullSort(Sort.by("nope"), Order.class));
+    }
+}
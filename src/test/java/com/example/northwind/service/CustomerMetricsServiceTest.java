@@ -0,0 +1,30 @@
+package com.example.northwind.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerMetricsServiceTest {
+
+    @Test
+    void quintile_spreadsDistinctValuesOverOneToFive() {
+        long[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        assertEquals(1, CustomerMetricsService.quintile(sorted, 1));
+        assertEquals(1, CustomerMetricsService.quintile(sorted, 2));
+        assertEquals(2, CustomerMetricsService.quintile(sorted, 3));
+        assertEquals(3, CustomerMetricsService.quintile(sorted, 6));
+        assertEquals(5, CustomerMetricsService.quintile(sorted, 10));
+    }
+
+    @Test
+    void quintile_tiesShareTheScoreOfTheirFirstPosition() {
+        long[] sorted = {1, 1, 1, 1, 1, 1, 1, 1, 9, 10};
+        assertEquals(1, CustomerMetricsService.quintile(sorted, 1));
+        assertEquals(5, CustomerMetricsService.quintile(sorted, 9));
+    }
+
+    @Test
+    void quintile_singleCustomerScoresOne() {
+        assertEquals(1, CustomerMetricsService.quintile(new long[] {42}, 42));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.OrderSummaryDto;
+import com.example.northwind.dto.OrderSummaryRow;
+import com.example.northwind.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderServiceTest {
+
+    private final OrderRepository repository = Mockito.mock(OrderRepository.class);
+    private final OrderService service = new OrderService(repository, Mockito.mock(CursorCodec.class));
+
+    private static OrderSummaryRow row(Integer productId, String price, Short quantity, Float discount, String orderTotal) {
+        OrderSummaryRow row = Mockito.mock(OrderSummaryRow.class);
+        Mockito.when(row.getOrderId()).thenReturn(10250);
+        Mockito.when(row.getOrderDate()).thenReturn(LocalDate.of(1996, 7, 8));
+        Mockito.when(row.getOrderTotal()).thenReturn(new BigDecimal(orderTotal));
+        Mockito.when(row.getProductId()).thenReturn(productId);
+        Mockito.when(row.getUnitPrice()).thenReturn(price == null ? null : new BigDecimal(price));
+        Mockito.when(row.getQuantity()).thenReturn(quantity);
+        Mockito.when(row.getDiscount()).thenReturn(discount);
+        return row;
+    }
+
+    @Test
+    void summary_reportsStoredRoundedTotal() {
+        // 42.40*35*0.85 + 16.80*15*0.85 = 1261.40 + 214.20; a float discount would give 1475.400000...
+        List<OrderSummaryRow> rows = List.of(
+                row(51, "42.40", (short) 35, 0.15f, "1475.40"),
+                row(65, "16.80", (short) 15, 0.15f, "1475.40"));
+        Mockito.when(repository.findSummaryRows(10250)).thenReturn(rows);
+        OrderSummaryDto dto = service.summary(10250);
+        assertEquals(new BigDecimal("1475.40"), dto.total);
+        assertEquals(2, dto.items.size());
+    }
+
+    @Test
+    void summary_orderWithoutLines_hasNoItemsAndZeroTotal() {
+        List<OrderSummaryRow> rows = List.of(row(null, null, null, null, "0.00"));
+        Mockito.when(repository.findSummaryRows(10250)).thenReturn(rows);
+        OrderSummaryDto dto = service.summary(10250);
+        assertTrue(dto.items.isEmpty());
+        assertEquals(new BigDecimal("0.00"), dto.total);
+    }
+}
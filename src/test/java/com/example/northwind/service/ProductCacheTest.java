@@ -0,0 +1,109 @@
+package com.example.northwind.service;
+
+import com.example.northwind.entity.Product;
+import com.example.northwind.entity.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private static Product product(int id) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName("P" + id);
+        return p;
+    }
+
+    private static ProductCache cache(int maxSize, Duration ttl) {
+        return new ProductCache(maxSize, ttl, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_loadsOnceThenServesFromCache() {
+        ProductCache cache = cache(10, Duration.ofMinutes(1));
+        int[] loads = {0};
+        cache.get(1, id -> { loads[0]++; return product(id); });
+        Product second = cache.get(1, id -> { loads[0]++; return product(id); });
+        assertEquals(1, loads[0]);
+        assertEquals(1, second.getId());
+        assertEquals(Map.of("hits", 1L, "misses", 1L, "evictions", 0L, "size", 1L), cache.stats());
+    }
+
+    @Test
+    void expiredEntry_isReloadedAndCountedAsEviction() throws Exception {
+        ProductCache cache = cache(10, Duration.ofMillis(20));
+        cache.get(1, ProductCacheTest::product);
+        Thread.sleep(50);
+        assertNull(cache.getIfPresent(1));
+        assertEquals(0, cache.size());
+        assertEquals(Map.of("hits", 0L, "misses", 2L, "evictions", 1L, "size", 0L), cache.stats());
+    }
+
+    @Test
+    void maxSize_evictsLeastRecentlyUsed() {
+        ProductCache cache = cache(2, Duration.ofMinutes(1));
+        cache.get(1, ProductCacheTest::product);
+        cache.get(2, ProductCacheTest::product);
+        assertNotNull(cache.getIfPresent(1));
+        cache.get(3, ProductCacheTest::product);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(2));
+        assertNotNull(cache.getIfPresent(3));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void invalidationDuringLoad_doesNotCacheLoadedValue() {
+        ProductCache cache = cache(10, Duration.ofMinutes(1));
+        Product loaded = cache.get(1, id -> {
+            cache.onProductChanged(new ProductChangedEvent(id, product(id)));
+            return product(id);
+        });
+        assertEquals(1, loaded.getId());
+        assertNull(cache.getIfPresent(1));
+    }
+
+    @Test
+    void putIfUnchanged_isIgnoredAfterAnInterveningInvalidation() {
+        ProductCache cache = cache(10, Duration.ofMinutes(1));
+        long observed = cache.generation();
+        cache.onProductChanged(new ProductChangedEvent(1, null));
+        cache.putIfUnchanged(product(1), observed);
+        assertNull(cache.getIfPresent(1));
+
+        cache.putIfUnchanged(product(1), cache.generation());
+        assertNotNull(cache.getIfPresent(1));
+    }
+
+    @Test
+    void getAll_servesHitsAndLoadsMissesInOneCall() {
+        ProductCache cache = cache(10, Duration.ofMinutes(1));
+        cache.get(1, ProductCacheTest::product);
+        List<Collection<Integer>> calls = new ArrayList<>();
+        Map<Integer, Product> found = cache.getAll(List.of(1, 2, 3), ids -> {
+            calls.add(List.copyOf(ids));
+            return ids.stream().filter(id -> id != 3).map(ProductCacheTest::product).toList();
+        });
+        assertEquals(List.of(List.of(2, 3)), calls);
+        assertEquals(2, found.size());
+        assertFalse(found.containsKey(3));
+        assertNotNull(cache.getIfPresent(2));
+    }
+
+    @Test
+    void onProductChanged_evictsEntry() {
+        ProductCache cache = cache(10, Duration.ofMinutes(1));
+        cache.get(1, ProductCacheTest::product);
+        cache.onProductChanged(new ProductChangedEvent(1, null));
+        assertNull(cache.getIfPresent(1));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.northwind.service;
+
+import com.example.northwind.entity.Product;
+import com.example.northwind.exception.BadRequestException;
+import com.example.northwind.repository.ProductRepository;
+import com.example.northwind.repository.ProductReviewRepository;
+import com.example.northwind.repository.ProductReviewStatsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductServiceTest {
+
+    private final ProductRepository repository = Mockito.mock(ProductRepository.class);
+    private final ProductCache cache = new ProductCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    private final ProductService service = new ProductService(repository, Mockito.mock(ProductReviewRepository.class),
+            Mockito.mock(ProductReviewStatsRepository.class), cache, Mockito.mock(CursorCodec.class),
+            Mockito.mock(ProductSuggestIndex.class), new ObjectMapper());
+    private final List<List<Integer>> loads = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // the catalog holds ids 1..10; anything else is unknown
+        Mockito.when(repository.findAllById(ArgumentMatchers.any())).thenAnswer(inv -> {
+            List<Integer> ids = StreamSupport.stream(inv.<Iterable<Integer>>getArgument(0).spliterator(), false).toList();
+            loads.add(ids);
+            return ids.stream().filter(id -> id >= 1 && id <= 10).map(ProductServiceTest::product).toList();
+        });
+    }
+
+    private static Product product(int id) {
+        Product p = new Product();
+        p.setId(id);
+        return p;
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void getAll_followsRequestedOrder() {
+        assertEquals(List.of(7, 2, 5), ids(service.getAll(List.of(7, 2, 5))));
+    }
+
+    @Test
+    void getAll_dropsDuplicateAndNullIds() {
+        assertEquals(List.of(3, 1), ids(service.getAll(Arrays.asList(3, null, 1, 3, null))));
+        assertEquals(List.of(List.of(3, 1)), loads);
+    }
+
+    @Test
+    void getAll_skipsUnknownIds() {
+        assertEquals(List.of(4), ids(service.getAll(List.of(99, 4, 12345))));
+    }
+
+    @Test
+    void getAll_servesCachedIdsAndLoadsOnlyMissesInOneQuery() {
+        service.getAll(List.of(1, 2));
+        loads.clear();
+        assertEquals(List.of(2, 3, 1, 4), ids(service.getAll(List.of(2, 3, 1, 4))));
+        assertEquals(List.of(List.of(3, 4)), loads);
+
+        loads.clear();
+        service.getAll(List.of(4, 1));
+        assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    void getAll_capsDistinctIdsAt200() {
+        List<Integer> max = IntStream.rangeClosed(1, 200).boxed().toList();
+        assertEquals(10, service.getAll(max).size());
+
+        List<Integer> withDuplicates = new ArrayList<>(max);
+        withDuplicates.addAll(max);
+        assertDoesNotThrow(() -> service.getAll(withDuplicates));
+
+        List<Integer> tooMany = IntStream.rangeClosed(1, 201).boxed().toList();
+        assertThrows(BadRequestException.class, () -> service.getAll(tooMany));
+        Mockito.verify(repository, Mockito.times(2)).findAllById(ArgumentMatchers.any());
+    }
+}
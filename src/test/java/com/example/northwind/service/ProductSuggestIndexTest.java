@@ -0,0 +1,80 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.ProductNameView;
+import com.example.northwind.dto.ProductSuggestion;
+import com.example.northwind.entity.Product;
+import com.example.northwind.entity.ProductChangedEvent;
+import com.example.northwind.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggestIndexTest {
+
+    private final ProductRepository repository = Mockito.mock(ProductRepository.class);
+    private final ProductSuggestIndex index = new ProductSuggestIndex(repository);
+
+    private static ProductNameView view(int id, String name) {
+        return new ProductNameView() {
+            public Integer getId() { return id; }
+            public String getName() { return name; }
+        };
+    }
+
+    private static ProductChangedEvent saved(int id, String name) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        return new ProductChangedEvent(id, p);
+    }
+
+    private static List<Integer> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(s -> s.id).toList();
+    }
+
+    private void seed(ProductNameView... views) {
+        Mockito.when(repository.findAllProjectedBy()).thenReturn(List.of(views));
+        index.rebuild();
+    }
+
+    @Test
+    void suggest_matchesPrefixCaseInsensitivelyInNameOrder() {
+        seed(view(1, "Chai"), view(2, "Chang"), view(3, "Aniseed Syrup"), view(4, "Chef Anton's Cajun Seasoning"), view(5, "Côte de Blaye"));
+        assertEquals(List.of(1, 2), ids(index.suggest("CHA", 10)));
+        assertEquals(List.of(1, 2, 4), ids(index.suggest(" ch", 10)));
+        assertEquals(List.of(), ids(index.suggest("x", 10)));
+        assertEquals(List.of(), ids(index.suggest("  ", 10)));
+    }
+
+    @Test
+    void suggest_stopsAtLimit() {
+        seed(view(1, "Chai"), view(2, "Chang"), view(4, "Chef Anton's Cajun Seasoning"));
+        assertEquals(List.of(1, 2), ids(index.suggest("ch", 2)));
+        assertEquals(List.of(), ids(index.suggest("ch", 0)));
+    }
+
+    @Test
+    void onProductChanged_renamesAddsAndRemoves() {
+        seed(view(1, "Chai"), view(2, "Chang"));
+        index.onProductChanged(saved(1, "Tea"));
+        index.onProductChanged(saved(7, "Chartreuse verte"));
+        index.onProductChanged(new ProductChangedEvent(2, null));
+        assertEquals(List.of(7), ids(index.suggest("ch", 10)));
+        assertEquals(List.of(1), ids(index.suggest("tea", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void rebuild_replaysChangesCommittedWhileLoading() {
+        Mockito.when(repository.findAllProjectedBy()).thenAnswer(inv -> {
+            index.onProductChanged(saved(2, "Chang"));
+            index.onProductChanged(new ProductChangedEvent(1, null));
+            return List.of(view(1, "Chai"));
+        });
+        index.rebuild();
+        assertEquals(List.of(2), ids(index.suggest("ch", 10)));
+    }
+}
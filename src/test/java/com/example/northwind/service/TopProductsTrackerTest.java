@@ -0,0 +1,122 @@
+package com.example.northwind.service;
+
+import com.example.northwind.dto.TopProductDto;
+import com.example.northwind.entity.OrderDateChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopProductsTrackerTest {
+
+    private static final LocalDate LATEST = LocalDate.of(2031, 5, 10);
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final TopProductsTracker tracker = new TopProductsTracker(jdbcTemplate);
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Mockito.doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(2);
+            for (Object[] r : rows) {
+                ResultSet rs = Mockito.mock(ResultSet.class);
+                Mockito.when(rs.getObject(1, LocalDate.class)).thenReturn((LocalDate) r[0]);
+                Mockito.when(rs.getInt(2)).thenReturn((Integer) r[1]);
+                Mockito.when(rs.getString(3)).thenReturn("P" + r[1]);
+                Mockito.when(rs.getBigDecimal(4)).thenReturn(new BigDecimal((String) r[2]));
+                Mockito.when(rs.getLong(5)).thenReturn((Long) r[3]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(ArgumentMatchers.anyString(), ArgumentMatchers.any(PreparedStatementSetter.class), ArgumentMatchers.any(RowCallbackHandler.class));
+    }
+
+    private void row(LocalDate day, int productId, String revenue, long quantity) {
+        rows.add(new Object[] {day, productId, revenue, quantity});
+    }
+
+    private static List<Integer> ids(List<TopProductDto> top) {
+        return top.stream().map(p -> p.productId).toList();
+    }
+
+    @Test
+    void top_windowEndsAtLatestDayAndCountsWindowDays() {
+        row(LATEST, 1, "10.00", 1);
+        row(LATEST.minusDays(1), 2, "50.00", 1);
+        row(LATEST.minusDays(2), 3, "90.00", 1);
+        tracker.seed();
+
+        assertEquals(List.of(1), ids(tracker.top(1, false, 10)));
+        assertEquals(List.of(2, 1), ids(tracker.top(2, false, 10)));
+        assertEquals(List.of(3, 2, 1), ids(tracker.top(3, false, 10)));
+    }
+
+    @Test
+    void top_sumsDaysPerProductAndRanksByMetric() {
+        row(LATEST, 1, "10.00", 9);
+        row(LATEST.minusDays(1), 1, "10.00", 9);
+        row(LATEST, 2, "30.00", 1);
+        tracker.seed();
+
+        List<TopProductDto> byRevenue = tracker.top(7, false, 10);
+        assertEquals(List.of(2, 1), ids(byRevenue));
+        assertEquals(new BigDecimal("20.00"), byRevenue.get(1).revenue);
+        assertEquals(18, byRevenue.get(1).quantity);
+        assertEquals(List.of(1, 2), ids(tracker.top(7, true, 10)));
+    }
+
+    @Test
+    void top_fullTiesRankLowerProductIdFirst_andLimitApplies() {
+        row(LATEST, 7, "20.00", 2);
+        row(LATEST, 3, "20.00", 2);
+        row(LATEST, 5, "20.00", 2);
+        row(LATEST, 9, "20.00", 1);
+        tracker.seed();
+
+        assertEquals(List.of(3, 5, 7, 9), ids(tracker.top(1, false, 10)));
+        assertEquals(List.of(3, 5), ids(tracker.top(1, false, 2)));
+    }
+
+    @Test
+    void flush_afterDateChange_reaggregatesOldAndNewDay() {
+        row(LATEST.minusDays(1), 1, "10.00", 1);
+        row(LATEST, 2, "5.00", 1);
+        tracker.seed();
+
+        // the only order of product 1 moved to LATEST
+        rows.clear();
+        row(LATEST, 1, "10.00", 1);
+        row(LATEST, 2, "5.00", 1);
+        tracker.onOrderDateChanged(new OrderDateChangedEvent(42, LATEST.minusDays(1), LATEST));
+        tracker.flush();
+
+        assertEquals(List.of(1, 2), ids(tracker.top(1, false, 10)));
+        assertEquals(new BigDecimal("10.00"), tracker.top(2, false, 10).get(0).revenue);
+        Mockito.verify(jdbcTemplate, Mockito.never()).queryForList(ArgumentMatchers.anyString(), ArgumentMatchers.eq(LocalDate.class), ArgumentMatchers.<Object>any());
+    }
+
+    @Test
+    void flush_afterRemoval_dropsEmptiedDay() {
+        row(LATEST.minusDays(1), 1, "10.00", 1);
+        row(LATEST, 2, "5.00", 1);
+        tracker.seed();
+
+        rows.clear();
+        tracker.onOrderDateChanged(new OrderDateChangedEvent(42, LATEST.minusDays(1), null));
+        tracker.flush();
+
+        assertEquals(List.of(2), ids(tracker.top(2, false, 10)));
+    }
+}